@@ -15,4 +15,6 @@ public class CreatePaymentLinkRequestDto {
     private boolean acceptPartial;
     private double firstMinPartialAmount;
     private boolean reminderEnable;
+    // Unix time after which the link can no longer be paid; never expires when null
+    private Long expireBy;
 }
@@ -0,0 +1,21 @@
+package com.services.common.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a cursor-paginated listing. There is no total count; pass
+ * {@code nextCursor} back as {@code after} to get the next page. It is null
+ * on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
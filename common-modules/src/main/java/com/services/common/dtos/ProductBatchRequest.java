@@ -0,0 +1,19 @@
+package com.services.common.dtos;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = 200, message = "At most 200 product IDs can be requested at once")
+    private List<@NotNull Long> ids;
+}
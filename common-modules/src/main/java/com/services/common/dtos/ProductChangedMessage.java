@@ -0,0 +1,35 @@
+package com.services.common.dtos;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.*;
+
+/**
+ * Value of a {@code product-changed} record, keyed by product id on a
+ * compacted topic. Only the latest record per product is guaranteed to
+ * survive compaction, so besides naming the fields that changed it carries
+ * the current value of the fields other services copy. Drop any record
+ * whose version is not above the last one applied; a deleted product has no
+ * version and stays deleted, since ids are never reused. It is followed by
+ * a tombstone (null value) for the same key, which consumers must also
+ * treat as a delete, since compaction may have removed the deleted record
+ * by the time they read. New products are not published; the first record
+ * for an id is its first change.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductChangedMessage {
+    private Long id;
+    private Long version;
+    private boolean deleted;
+    private List<String> changed;
+    private String name;
+    private Double price;
+    private Integer stockQuantity;
+}
@@ -1,5 +1,7 @@
 package com.services.common.dtos;
 
+import java.io.Serializable;
+
 import lombok.*;
 
 @Getter
@@ -7,7 +9,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ProductResponse {
+public class ProductResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
     private Long id;
     private String name;
     private String description;
@@ -0,0 +1,18 @@
+package com.services.common.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationItemDTO {
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @Positive(message = "Quantity must be greater than 0")
+    private int quantity;
+}
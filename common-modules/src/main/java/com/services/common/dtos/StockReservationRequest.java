@@ -0,0 +1,26 @@
+package com.services.common.dtos;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid StockReservationItemDTO> items;
+
+    // How long the stock is held before it returns to sale; the server default applies when null
+    @Positive(message = "Hold duration must be positive")
+    private Integer holdSeconds;
+
+    public StockReservationRequest(List<StockReservationItemDTO> items) {
+        this.items = items;
+    }
+}
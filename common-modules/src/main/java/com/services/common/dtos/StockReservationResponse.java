@@ -0,0 +1,15 @@
+package com.services.common.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class StockReservationResponse {
+    private String reservationId;
+    private String status;
+    private List<StockReservationItemDTO> items;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
@@ -1,17 +1,36 @@
 package com.services.orderservice.clients;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import com.services.common.dtos.ProductBatchRequest;
+import com.services.common.dtos.ProductResponse;
+import com.services.common.dtos.StockReservationRequest;
+import com.services.common.dtos.StockReservationResponse;
+
 @FeignClient(name = "productservice")
 public interface ProductClient {
 
+    @PostMapping("/api/products/batch")
+    List<ProductResponse> getProducts(@RequestBody ProductBatchRequest request);
+
     @GetMapping("/api/products/{id}/verify-stock")
     Boolean verifyStock(@PathVariable("id") Long productId, @RequestParam("quantity") int quantity);
 
     @PostMapping("/api/products/{id}/reduce-stock")
     void reduceStock(@PathVariable("id") Long productId, @RequestParam("quantity") int quantity, @RequestHeader("Authorization") String token);
 
+    @PostMapping("/api/products/stock/reservations")
+    StockReservationResponse reserveStock(@RequestBody StockReservationRequest request, @RequestHeader("Authorization") String token);
+
+    @PostMapping("/api/products/stock/reservations/{reservationId}/commit")
+    StockReservationResponse commitReservation(@PathVariable("reservationId") String reservationId, @RequestHeader("Authorization") String token);
+
+    @PostMapping("/api/products/stock/reservations/{reservationId}/release")
+    StockReservationResponse releaseReservation(@PathVariable("reservationId") String reservationId, @RequestHeader("Authorization") String token);
+
     @PostMapping("/api/products/{id}/replenish-stock")
     void replenishStock(@PathVariable("id") Long productId, @RequestParam("quantity") int quantity, @RequestHeader("Authorization") String token);
 
@@ -27,6 +27,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorDetails);
     }
 
+    @ExceptionHandler(StockLostAfterPaymentException.class)
+    public ResponseEntity<Map<String, Object>> handleStockLostAfterPaymentException(
+            StockLostAfterPaymentException ex, WebRequest request) {
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", ex.getMessage());
+        errorDetails.put("status", HttpStatus.CONFLICT.value());
+        errorDetails.put("error", "Stock Not Held");
+        errorDetails.put("path", request.getDescription(false));
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorDetails);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
@@ -0,0 +1,9 @@
+package com.services.orderservice.exceptions;
+
+public class StockLostAfterPaymentException extends RuntimeException {
+
+    public StockLostAfterPaymentException(Long orderId, Throwable cause) {
+        super(String.format("Stock for order %d is no longer available; the payment must be refunded", orderId),
+                cause);
+    }
+}
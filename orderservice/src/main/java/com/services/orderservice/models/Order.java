@@ -49,4 +49,7 @@ public class Order {
     private String paymentMethod;
 
     private String paymentLink;
+
+    // Productservice stock hold, committed or released once payment settles
+    private String stockReservationId;
 }
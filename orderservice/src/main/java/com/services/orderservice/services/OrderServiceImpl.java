@@ -1,10 +1,12 @@
 package com.services.orderservice.services;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -15,6 +17,9 @@ import com.services.common.dtos.CartItemDTO;
 import com.services.common.dtos.CartResponse;
 import com.services.common.dtos.CreatePaymentLinkRequestDto;
 import com.services.common.dtos.OrderResponse;
+import com.services.common.dtos.StockReservationItemDTO;
+import com.services.common.dtos.StockReservationRequest;
+import com.services.common.dtos.StockReservationResponse;
 import com.services.common.dtos.UserDTO;
 import com.services.common.enums.OrderStatus;
 import com.services.common.enums.PaymentStatus;
@@ -31,12 +36,14 @@ import com.services.orderservice.exceptions.InvalidOrderStatusException;
 import com.services.orderservice.exceptions.OrderNotFoundException;
 import com.services.orderservice.exceptions.PaymentServiceException;
 import com.services.orderservice.exceptions.ProductNotAvailableException;
+import com.services.orderservice.exceptions.StockLostAfterPaymentException;
 import com.services.orderservice.exceptions.UserVerificationException;
 import com.services.orderservice.models.Order;
 import com.services.orderservice.models.OrderItem;
 
 import com.services.orderservice.repositories.OrderRepository;
 
+import feign.FeignException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
@@ -52,6 +59,14 @@ public class OrderServiceImpl implements OrderService {
     private final UserClient userClient;
     private final OrderStatusUpdateProducer orderStatusUpdateProducer;
 
+    // Should outlive the payment link so a customer paying late still finds their stock held
+    @Value("${order.stock-hold-seconds:1800}")
+    private int stockHoldSeconds;
+
+    // Razorpay stops taking payment after this; keep it below the stock hold
+    @Value("${order.payment-link-seconds:1200}")
+    private int paymentLinkSeconds;
+
     private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
 
     @Async
@@ -138,38 +153,33 @@ public class OrderServiceImpl implements OrderService {
         }
 
         List<CartItemDTO> products = cartResponse.getItems();
-        // 2. Check if product quantities match -> throw error to reduce to cancel
-        // product from order
+        // 2. Hold stock for the whole cart in one call. Productservice checks every
+        // line in a single transaction, so either all items are held or none are.
+        // The hold is committed once payment succeeds and lapses on its own if the
+        // customer never pays.
+        List<StockReservationItemDTO> reservationItems = new ArrayList<>();
         for (CartItemDTO item : products) {
             if (item.getProductId() == null || item.getQuantity() <= 0) {
                 throw new BadRequestException("Invalid cart item: product ID or quantity is invalid");
             }
-
-            Long productId = Long.parseLong(item.getProductId());
-            int requestedQty = item.getQuantity();
-
-            try {
-                if (!productClient.verifyStock(productId, requestedQty)) {
-                    throw new ProductNotAvailableException(productId, requestedQty);
-                }
-            } catch (ProductNotAvailableException e) {
-                throw e;
-            } catch (Exception e) {
-                log.error("Error verifying stock for product: {}", productId, e);
-                throw new ProductNotAvailableException("Failed to verify product stock", e);
-            }
+            reservationItems.add(new StockReservationItemDTO(Long.parseLong(item.getProductId()), item.getQuantity()));
         }
 
-        // Reduce product stock for all items before order creation
-        boolean stockReduced = false;
+        String reservationId;
         try {
-            for (CartItemDTO item : products) {
-                Long productId = Long.parseLong(item.getProductId());
-                int requestedQty = item.getQuantity();
-                productClient.reduceStock(productId, requestedQty, token);
-            }
-            stockReduced = true;
+            StockReservationResponse reservation = productClient
+                    .reserveStock(new StockReservationRequest(reservationItems, stockHoldSeconds), token);
+            reservationId = reservation.getReservationId();
+            log.info("Reserved stock for user: {} under reservation: {}", uid, reservationId);
+        } catch (FeignException.Conflict | FeignException.NotFound e) {
+            log.warn("Stock reservation rejected for user: {}: {}", uid, e.getMessage());
+            throw new ProductNotAvailableException("One or more products are not available in the requested quantity", e);
+        } catch (Exception e) {
+            log.error("Error reserving stock for user: {}", uid, e);
+            throw new ProductNotAvailableException("Failed to reserve product stock", e);
+        }
 
+        try {
             // 3. Create order
             Order order = new Order();
             List<OrderItem> orderItems = new ArrayList<>();
@@ -190,6 +200,7 @@ public class OrderServiceImpl implements OrderService {
             order.setStatus(OrderStatus.CREATED);
             order.setPaymentStatus(PaymentStatus.PENDING);
             order.setTotalAmount(cartResponse.getTotal());
+            order.setStockReservationId(reservationId);
             Order savedOrder;
             try {
                 savedOrder = orderRepository.save(order);
@@ -214,6 +225,7 @@ public class OrderServiceImpl implements OrderService {
             paymentRequest.setAcceptPartial(false);
             paymentRequest.setFirstMinPartialAmount(0);
             paymentRequest.setReminderEnable(true);
+            paymentRequest.setExpireBy(Instant.now().plusSeconds(paymentLinkSeconds).getEpochSecond());
 
             String paymentLink;
             try {
@@ -271,18 +283,12 @@ public class OrderServiceImpl implements OrderService {
 
             return orderResponse;
         } catch (Exception e) {
-            // If order creation fails after reducing stock, replenish stock for all items
-            if (stockReduced) {
-                for (CartItemDTO item : products) {
-                    Long productId = Long.parseLong(item.getProductId());
-                    int requestedQty = item.getQuantity();
-                    try {
-                        productClient.replenishStock(productId, requestedQty, token);
-                    } catch (Exception replenishEx) {
-                        log.error("Failed to replenish stock for product {} after order failure: {}", productId,
-                                replenishEx.getMessage(), replenishEx);
-                    }
-                }
+            // If order creation fails after reserving stock, give the stock back in one call
+            try {
+                productClient.releaseReservation(reservationId, token);
+            } catch (Exception releaseEx) {
+                log.error("Failed to release stock reservation {} after order failure: {}", reservationId,
+                        releaseEx.getMessage(), releaseEx);
             }
             throw e;
         }
@@ -371,6 +377,8 @@ public class OrderServiceImpl implements OrderService {
             throw new RuntimeException("Failed to update payment status", e);
         }
 
+        settleStockReservation(jwt, order, paymentStatus);
+
         // Send notification asynchronously
         try {
             // Fetch user email using JWT token
@@ -404,6 +412,77 @@ public class OrderServiceImpl implements OrderService {
         return true;
     }
 
+    /**
+     * Turns the stock hold into a sale when payment succeeds and gives the stock
+     * back when it fails. Both calls are idempotent on the productservice side.
+     * A failure here is only logged: an uncommitted hold expires by itself. The
+     * exception is a paid order whose stock could not be held again, which is
+     * thrown so paymentservice refunds it.
+     */
+    private void settleStockReservation(Jwt jwt, Order order, PaymentStatus paymentStatus) {
+        String reservationId = order.getStockReservationId();
+        if (reservationId == null) {
+            return;
+        }
+        String token = "Bearer " + jwt.getTokenValue();
+        try {
+            switch (paymentStatus) {
+                case PAID:
+                case COMPLETED:
+                    commitReservation(order, reservationId, token);
+                    break;
+                case FAILED:
+                case CANCELLED:
+                    productClient.releaseReservation(reservationId, token);
+                    log.info("Released stock reservation {} for order: {}", reservationId, order.getId());
+                    break;
+                default:
+                    break;
+            }
+        } catch (StockLostAfterPaymentException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to settle stock reservation {} for order: {}", reservationId, order.getId(), e);
+        }
+    }
+
+    /**
+     * Commits the order's hold. A payment that arrives after the hold lapsed, or
+     * after it was released, gets a 409; the items are then reserved again and
+     * committed at once. If the stock has gone in the meantime the order is
+     * cancelled and {@link StockLostAfterPaymentException} is thrown.
+     */
+    private void commitReservation(Order order, String reservationId, String token) {
+        try {
+            productClient.commitReservation(reservationId, token);
+            log.info("Committed stock reservation {} for order: {}", reservationId, order.getId());
+            return;
+        } catch (FeignException.Conflict e) {
+            log.warn("Stock reservation {} for order: {} is no longer open, reserving again", reservationId,
+                    order.getId());
+        }
+
+        List<StockReservationItemDTO> items = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            items.add(new StockReservationItemDTO(Long.parseLong(item.getProductId()), item.getQuantity()));
+        }
+        String newReservationId;
+        try {
+            newReservationId = productClient
+                    .reserveStock(new StockReservationRequest(items, stockHoldSeconds), token)
+                    .getReservationId();
+        } catch (FeignException.Conflict | FeignException.NotFound e) {
+            log.error("Stock for paid order: {} is no longer available, cancelling it", order.getId());
+            order.setStatus(OrderStatus.CANCELLED);
+            orderRepository.save(order);
+            throw new StockLostAfterPaymentException(order.getId(), e);
+        }
+        productClient.commitReservation(newReservationId, token);
+        order.setStockReservationId(newReservationId);
+        orderRepository.save(order);
+        log.info("Committed replacement stock reservation {} for order: {}", newReservationId, order.getId());
+    }
+
     @Override
     public java.util.List<OrderResponse> getOrdersByUserId(String userId) {
         List<Order> orders = orderRepository.findByUserId(userId);
@@ -14,6 +14,8 @@ import com.services.paymentservice.models.Payment;
 import com.services.paymentservice.repositories.PaymentRepository;
 import java.time.LocalDateTime;
 
+import feign.FeignException;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
@@ -69,6 +71,10 @@ public class RazorpayService implements PaymentService {
                     .put("description", reqDto.getDescription())
                     .put("reminder_enable", reqDto.isReminderEnable());
 
+            if (reqDto.getExpireBy() != null) {
+                payload.put("expire_by", reqDto.getExpireBy());
+            }
+
             JSONObject customer = new JSONObject()
                     .put("name", reqDto.getCustomerName())
                     .put("email", reqDto.getCustomerEmail())
@@ -178,12 +184,22 @@ public class RazorpayService implements PaymentService {
                     orderServiceFeignClient.updateOrderStatus(token, orderId, "PLACED");
                     log.info("OrderService order status set to PLACED for orderId={}", orderId);
 
-                    // 2. Update PaymentStatus to COMPLETED
-                    orderServiceFeignClient.updatePaymentStatus(token, orderId, PaymentStatus.COMPLETED);
-                    log.info("OrderService payment status set to COMPLETED for orderId={}", orderId);
+                    // 2. Update PaymentStatus to COMPLETED. Orderservice answers 409 when the
+                    // payment came in after the stock hold lapsed and the stock has since gone
+                    JsonNode paymentEntity = json.path("payload").path("payment").path("entity");
+                    boolean refunded = false;
+                    try {
+                        orderServiceFeignClient.updatePaymentStatus(token, orderId, PaymentStatus.COMPLETED);
+                        log.info("OrderService payment status set to COMPLETED for orderId={}", orderId);
+                    } catch (FeignException.Conflict e) {
+                        String paymentId = paymentEntity.path("id").asText();
+                        log.warn("Stock for orderId={} is no longer held, refunding payment {}", orderId, paymentId);
+                        razorpayClient.payments.refund(paymentId, new JSONObject().put("amount", amount));
+                        orderServiceFeignClient.updatePaymentStatus(token, orderId, PaymentStatus.REFUNDED);
+                        refunded = true;
+                    }
 
                     // 3. Save payment record
-                    JsonNode paymentEntity = json.path("payload").path("payment").path("entity");
                     Payment payment = new Payment();
                     payment.setOrderId(orderIdStr);
                     payment.setUserId(""); // Set if available
@@ -191,11 +207,14 @@ public class RazorpayService implements PaymentService {
                     payment.setCurrency(paymentEntity.path("currency").asText("INR"));
                     payment.setPaymentMethod(paymentEntity.path("method").asText(""));
                     payment.setTransactionId(paymentEntity.path("id").asText(""));
-                    payment.setStatus(PaymentStatus.COMPLETED);
+                    payment.setStatus(refunded ? PaymentStatus.REFUNDED : PaymentStatus.COMPLETED);
                     payment.setCreatedAt(LocalDateTime.now());
                     payment.setUpdatedAt(LocalDateTime.now());
                     paymentRepository.save(payment);
                     log.info("Payment record saved for orderId={}", orderId);
+                    if (refunded) {
+                        break;
+                    }
 
                     // 4. Fetch order details for invoice
                     String orderDetails;
@@ -0,0 +1,96 @@
+package com.services.productservice.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Diffs two JMH JSON result files, typically the previous release's and the
+ * current one's. Prints every benchmark present in both with its change and
+ * exits with status 1 if any got worse by more than the threshold (10% by
+ * default) and by more than the two runs' combined error. Throughput is
+ * better higher; every other mode is a time and better lower.
+ *
+ * <p>{@code java -cp target/benchmarks.jar
+ * com.services.productservice.benchmarks.BenchmarkComparison
+ * baseline.json candidate.json [thresholdPercent]}
+ */
+public final class BenchmarkComparison {
+
+    private record Score(String mode, double score, double error, String unit) {
+    }
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> candidate = read(Path.of(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, Score> entry : baseline.entrySet()) {
+            Score before = entry.getValue();
+            Score after = candidate.get(entry.getKey());
+            if (after == null) {
+                System.out.printf("%-90s %14.3f %14s%n", entry.getKey(), before.score(), "missing");
+                continue;
+            }
+            if (!before.unit().equals(after.unit())) {
+                System.out.printf("%-90s unit changed from %s to %s%n", entry.getKey(), before.unit(), after.unit());
+                continue;
+            }
+            double change = (after.score() - before.score()) / before.score() * 100;
+            // Positive when the candidate is slower
+            double worse = "thrpt".equals(before.mode()) ? -change : change;
+            boolean regressed = worse > threshold
+                    && Math.abs(after.score() - before.score()) > before.error() + after.error();
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), before.score(), after.score(),
+                    change, after.unit(), regressed ? "  REGRESSION" : "");
+        }
+        for (String key : candidate.keySet()) {
+            if (!baseline.containsKey(key)) {
+                System.out.printf("%-90s %14s %14.3f%n", key, "new", candidate.get(key).score());
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /** Results by benchmark name, mode and parameters. */
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            String mode = result.path("mode").asText();
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()).append(" [").append(mode);
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(),
+                    param.getValue().asText()));
+            params.forEach((name, value) -> key.append(", ").append(name).append('=').append(value));
+            key.append(']');
+
+            JsonNode metric = result.path("primaryMetric");
+            // JMH writes NaN as a string when a single iteration leaves no error estimate
+            double error = metric.path("scoreError").isNumber() ? metric.path("scoreError").asDouble() : 0;
+            scores.put(key.toString(), new Score(mode, metric.path("score").asDouble(), error,
+                    metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,69 @@
+package com.services.productservice.benchmarks;
+
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.models.Category;
+import com.services.productservice.models.CategoryDocument;
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ProductDocument;
+
+/** The same realistic product as an entity, a search document and a response. */
+final class BenchmarkProducts {
+
+    static final long CATEGORY_ID = 7L;
+    static final String CATEGORY = "Smartphones";
+    static final String NAME = "Apple iPhone 15 Pro 256GB";
+    static final String DESCRIPTION = "6.1-inch Super Retina XDR display, A17 Pro chip, titanium design";
+    static final double PRICE = 1099.99;
+    static final String BRAND = "Apple";
+    static final int STOCK = 42;
+
+    private BenchmarkProducts() {
+    }
+
+    static Product entity(long id) {
+        Category category = new Category();
+        category.setId(CATEGORY_ID);
+        category.setName(CATEGORY);
+        Product product = Product.builder()
+                .name(NAME)
+                .description(DESCRIPTION)
+                .price(PRICE)
+                .category(category)
+                .brand(BRAND)
+                .stockQuantity(STOCK)
+                .imageUrl(imageUrl(id))
+                .build();
+        product.setId(id);
+        return product;
+    }
+
+    static ProductDocument document(long id) {
+        return ProductDocument.builder()
+                .id(String.valueOf(id))
+                .name(NAME)
+                .description(DESCRIPTION)
+                .price(PRICE)
+                .category(new CategoryDocument(CATEGORY_ID, CATEGORY))
+                .brand(BRAND)
+                .stockQuantity(STOCK)
+                .imageUrl(imageUrl(id))
+                .build();
+    }
+
+    static ProductResponse response(long id) {
+        return ProductResponse.builder()
+                .id(id)
+                .name(NAME)
+                .description(DESCRIPTION)
+                .price(PRICE)
+                .category(CATEGORY)
+                .brand(BRAND)
+                .stockQuantity(STOCK)
+                .imageUrl(imageUrl(id))
+                .build();
+    }
+
+    private static String imageUrl(long id) {
+        return "https://cdn.example.com/products/" + id + "/main.jpg";
+    }
+}
@@ -0,0 +1,122 @@
+package com.services.productservice.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.ProductNearCache;
+import com.services.productservice.utils.CompactProductSerializer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import redis.embedded.RedisServer;
+
+/**
+ * {@code CacheService} reads and writes against a Redis server started for
+ * the trial, with the compact serializer the service uses by default. With
+ * {@code tier=near} lookups are answered by the near cache; with
+ * {@code tier=redis} the near cache never holds anything, so every call
+ * makes the Redis round trip. Run with {@code java -jar
+ * target/benchmarks.jar ProductCacheBenchmark}; the server listens on
+ * {@code -Dbenchmark.redis.port} (6390 by default).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductCacheBenchmark {
+
+    private static final long PRODUCT_ID = 184_467L;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({ "near", "redis" })
+    private String tier;
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<Long, Object> redisTemplate;
+    private CacheService cacheService;
+    private ProductResponse product;
+    private List<Long> batchIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        int port = Integer.getInteger("benchmark.redis.port", 6390);
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        // Same shape as RedisConfig's template
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setHashValueSerializer(new CompactProductSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProductNearCache nearCache = "near".equals(tier)
+                ? new ProductNearCache(10_000, 300, meterRegistry)
+                : mock(ProductNearCache.class, withSettings().stubOnly());
+        cacheService = new CacheService(nearCache, meterRegistry, 3600, 30, 1.0);
+
+        product = BenchmarkProducts.response(PRODUCT_ID);
+        cacheService.cacheProduct(redisTemplate, PRODUCT_ID, product, 5);
+        Map<Long, ProductResponse> batch = new HashMap<>();
+        batchIds = new ArrayList<>();
+        for (long id = 1; id <= BATCH_SIZE; id++) {
+            batch.put(id, BenchmarkProducts.response(id));
+            batchIds.add(id);
+        }
+        cacheService.cacheProducts(redisTemplate, batch, 5);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    /** The product page read: near cache, then one HMGET of the product hash. */
+    @Benchmark
+    public CacheService.ProductLookup lookupProduct() {
+        return cacheService.lookupProduct(redisTemplate, PRODUCT_ID);
+    }
+
+    /** A batch read of {@value #BATCH_SIZE} products, one pipelined round trip for the near cache misses. */
+    @Benchmark
+    public Map<Long, ProductResponse> getProducts() {
+        return cacheService.getProducts(redisTemplate, batchIds);
+    }
+
+    /** Caching a freshly loaded product in both tiers; called directly, so not async. */
+    @Benchmark
+    public void cacheProduct() {
+        cacheService.cacheProduct(redisTemplate, PRODUCT_ID, product, 5);
+    }
+}
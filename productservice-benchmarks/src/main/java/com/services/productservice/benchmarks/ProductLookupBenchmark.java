@@ -0,0 +1,116 @@
+package com.services.productservice.benchmarks;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.models.Product;
+import com.services.productservice.repositories.CategoryRepository;
+import com.services.productservice.repositories.InventoryHoldRepository;
+import com.services.productservice.repositories.ProductElasticsearchRepository;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.ProductChangeOutbox;
+import com.services.productservice.services.ProductIndexOutbox;
+import com.services.productservice.services.ProductNearCache;
+import com.services.productservice.services.ProductServiceImpl;
+import com.services.productservice.utils.PayloadLogger;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * A cache-missing {@code getProductById} against stub collaborators, with
+ * and without the pretty-printed entity logging it used to do on every
+ * load. Stubs cost the same in both, so compare the two with
+ * {@code -prof gc} to see the allocation per call that the logging added.
+ * Run with {@code java -jar target/benchmarks.jar ProductLookupBenchmark
+ * -prof gc} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductLookupBenchmark {
+
+    private static final long PRODUCT_ID = 184_467L;
+
+    private ProductServiceImpl productService;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        // Payloads are built whatever the level, so nothing needs to reach the console
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(Level.WARN);
+
+        product = BenchmarkProducts.entity(PRODUCT_ID);
+
+        // Stub-only mocks keep no invocation history, so they do not grow over a run
+        ProductRepository productRepository = mock(ProductRepository.class, withSettings().stubOnly());
+        when(productRepository.findById(anyLong())).thenReturn(Optional.of(product));
+        CacheService cacheService = mock(CacheService.class, withSettings().stubOnly());
+        when(cacheService.lookupProduct(any(), anyLong()))
+                .thenReturn(new CacheService.ProductLookup(null, false, false));
+
+        productService = productService(productRepository, cacheService);
+    }
+
+    /** A ProductServiceImpl over stub-only mocks, with the given repository and cache in front. */
+    @SuppressWarnings("unchecked")
+    static ProductServiceImpl productService(ProductRepository productRepository, CacheService cacheService) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        return new ProductServiceImpl(productRepository,
+                mock(ProductElasticsearchRepository.class, withSettings().stubOnly()),
+                mock(CategoryRepository.class, withSettings().stubOnly()),
+                mock(InventoryHoldRepository.class, withSettings().stubOnly()),
+                mock(RedisTemplate.class, withSettings().stubOnly()),
+                cacheService,
+                mock(ProductIndexOutbox.class, withSettings().stubOnly()),
+                mock(ProductChangeOutbox.class, withSettings().stubOnly()),
+                mock(ObjectProvider.class, withSettings().stubOnly()),
+                mock(ApplicationEventPublisher.class, withSettings().stubOnly()),
+                mock(ObjectProvider.class, withSettings().stubOnly()),
+                mock(ProductNearCache.class, withSettings().stubOnly()),
+                objectMapper,
+                new PayloadLogger(objectMapper, 0, "", Set.of()));
+    }
+
+    @Benchmark
+    public ProductResponse getProductById() {
+        return productService.getProductById(PRODUCT_ID);
+    }
+
+    /** The same lookup plus the mapper creation and pretty-printing the load path used to do. */
+    @Benchmark
+    public String getProductByIdWithPrettyLogging() throws JsonProcessingException {
+        productService.getProductById(PRODUCT_ID);
+        ObjectMapper objectMapper = new ObjectMapper();
+        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(product);
+    }
+}
@@ -0,0 +1,62 @@
+package com.services.productservice.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ProductDocument;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.ProductServiceImpl;
+
+/**
+ * Mapping an entity loaded from MySQL and a document returned by
+ * Elasticsearch to the {@code ProductResponse} every read endpoint returns.
+ * Run with {@code java -jar target/benchmarks.jar ProductMappingBenchmark}
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    private ProductServiceImpl productService;
+    private Product product;
+    private ProductDocument document;
+
+    @Setup
+    public void setUp() {
+        productService = ProductLookupBenchmark.productService(
+                mock(ProductRepository.class, withSettings().stubOnly()),
+                mock(CacheService.class, withSettings().stubOnly()));
+        product = BenchmarkProducts.entity(184_467L);
+        document = BenchmarkProducts.document(184_467L);
+    }
+
+    @Benchmark
+    public ProductResponse mapToResponse() {
+        return productService.mapToResponse(product);
+    }
+
+    @Benchmark
+    public ProductResponse mapToResponseFromDocument() {
+        return productService.mapToResponseFromDocument(document);
+    }
+}
@@ -0,0 +1,88 @@
+package com.services.productservice.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.services.common.dtos.ProductResponse;
+
+/**
+ * JSON encode and decode of a {@code ProductResponse} and of a 20-product
+ * page, with a mapper configured the way Spring's message converters
+ * configure theirs. Run with {@code java -jar target/benchmarks.jar
+ * ProductResponseJsonBenchmark} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductResponseJsonBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter productWriter;
+    private ObjectReader productReader;
+    private ObjectWriter pageWriter;
+    private ObjectReader pageReader;
+    private ProductResponse product;
+    private List<ProductResponse> page;
+    private byte[] productJson;
+    private byte[] pageJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productWriter = objectMapper.writerFor(ProductResponse.class);
+        productReader = objectMapper.readerFor(ProductResponse.class);
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductResponse.class));
+        pageReader = objectMapper.readerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductResponse.class));
+
+        product = BenchmarkProducts.response(184_467L);
+        page = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(BenchmarkProducts.response(id));
+        }
+        productJson = productWriter.writeValueAsBytes(product);
+        pageJson = pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws IOException {
+        return productWriter.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public ProductResponse deserializeProduct() throws IOException {
+        return productReader.readValue(productJson);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<ProductResponse> deserializePage() throws IOException {
+        return pageReader.readValue(pageJson);
+    }
+}
@@ -0,0 +1,66 @@
+package com.services.productservice.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.utils.CompactProductSerializer;
+
+/**
+ * Encode and decode time of a cached product with each product cache
+ * serializer. Payload sizes are printed once per trial. Run with
+ * {@code java -jar target/benchmarks.jar ProductSerializerBenchmark} or
+ * from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSerializerBenchmark {
+
+    @Param({ "compact", "jdk", "json" })
+    private String serializer;
+
+    private RedisSerializer<Object> codec;
+    private ProductResponse product;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = switch (serializer) {
+            case "compact" -> new CompactProductSerializer();
+            case "jdk" -> new JdkSerializationRedisSerializer();
+            default -> new GenericJackson2JsonRedisSerializer();
+        };
+        product = BenchmarkProducts.response(184_467L);
+        encoded = codec.serialize(product);
+        System.out.printf("%n%s payload: %d bytes%n", serializer, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.serialize(product);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return codec.deserialize(encoded);
+    }
+}
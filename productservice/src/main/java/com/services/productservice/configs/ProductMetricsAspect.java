@@ -0,0 +1,174 @@
+package com.services.productservice.configs;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import com.services.productservice.dtos.ProductJson;
+import com.services.productservice.services.CacheService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every {@code ProductController} endpoint as {@code product.endpoint}
+ * and, within it, every call to the cache, MySQL and Elasticsearch as
+ * {@code product.dependency} tagged with the component, so a slow endpoint
+ * can be split into where its time went. Both publish percentile histograms
+ * and SLO buckets for the Prometheus endpoint.
+ *
+ * <p>Cache lookups report hit or miss, and the endpoint timer carries the
+ * outcome of the lookups made while it ran: {@code miss} if any lookup
+ * missed, {@code hit} if all hit, {@code none} if there were none.
+ */
+@Aspect
+@Component
+public class ProductMetricsAspect {
+
+    private static final Duration[] ENDPOINT_SLOS = {
+            Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1) };
+    private static final Duration[] DEPENDENCY_SLOS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+            Duration.ofMillis(100), Duration.ofMillis(250) };
+
+    private static final String CACHE = "cache";
+    private static final String NONE = "none";
+    private static final String HIT = "hit";
+    private static final String MISS = "miss";
+
+    // Cache outcome of the endpoint call running on this thread, null outside one
+    private static final ThreadLocal<String[]> endpointCache = new ThreadLocal<>();
+
+    // Timer name and its three tag values
+    private record TimerKey(String name, String first, String second, String third) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    // Looked up per call, so the hot paths being measured do not build and register a Timer each time
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ProductMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.services.productservice.controllers.ProductController.*(..))")
+    public Object timeEndpoint(ProceedingJoinPoint joinPoint) throws Throwable {
+        String[] cache = { NONE };
+        String[] outer = endpointCache.get();
+        endpointCache.set(cache);
+        long started = System.nanoTime();
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            endpointCache.set(outer);
+            endpointTimer(joinPoint.getSignature().getName(), outcome, cache[0])
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("execution(public * com.services.productservice.services.CacheService.*(..))")
+    public Object timeCache(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeDependency(joinPoint, CACHE, true);
+    }
+
+    // A rendered-body miss falls through to lookupProduct, whose result is the one the endpoint reports
+    @Around("execution(public * com.services.productservice.services.ProductNearCache.getJson(..))")
+    public Object timeRenderedCache(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeDependency(joinPoint, CACHE, false);
+    }
+
+    // Repository beans are proxies implementing the interface, so this() also matches inherited methods
+    @Around("this(com.services.productservice.repositories.ProductRepository) && execution(public * *(..))")
+    public Object timeMysql(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeDependency(joinPoint, "mysql", false);
+    }
+
+    @Around("this(com.services.productservice.repositories.ProductElasticsearchRepository) "
+            + "&& execution(public * *(..))")
+    public Object timeElasticsearch(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeDependency(joinPoint, "elasticsearch", false);
+    }
+
+    private Object timeDependency(ProceedingJoinPoint joinPoint, String component, boolean reportsMisses)
+            throws Throwable {
+        long started = System.nanoTime();
+        String result = NONE;
+        try {
+            Object value = joinPoint.proceed();
+            result = CACHE.equals(component) ? cacheResult(value, joinPoint.getArgs()) : NONE;
+            return value;
+        } catch (Throwable e) {
+            result = "error";
+            throw e;
+        } finally {
+            if (HIT.equals(result) || (reportsMisses && MISS.equals(result))) {
+                recordEndpointCache(result);
+            }
+            dependencyTimer(component, joinPoint.getSignature().getName(), result)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer endpointTimer(String endpoint, String outcome, String cache) {
+        return timers.computeIfAbsent(new TimerKey("product.endpoint", endpoint, outcome, cache),
+                key -> Timer.builder(key.name())
+                        .description("ProductController endpoint latency")
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .tag("cache", cache)
+                        .publishPercentileHistogram()
+                        .serviceLevelObjectives(ENDPOINT_SLOS)
+                        .register(meterRegistry));
+    }
+
+    private Timer dependencyTimer(String component, String operation, String result) {
+        return timers.computeIfAbsent(new TimerKey("product.dependency", component, operation, result),
+                key -> Timer.builder(key.name())
+                        .description("Latency of cache, MySQL and Elasticsearch calls made by productservice")
+                        .tag("component", component)
+                        .tag("operation", operation)
+                        .tag("result", result)
+                        .publishPercentileHistogram()
+                        .serviceLevelObjectives(DEPENDENCY_SLOS)
+                        .register(meterRegistry));
+    }
+
+    /** A miss sticks; a hit only replaces "none". */
+    private static void recordEndpointCache(String result) {
+        String[] cache = endpointCache.get();
+        if (cache != null && (MISS.equals(result) || NONE.equals(cache[0]))) {
+            cache[0] = result;
+        }
+    }
+
+    /** Hit or miss for the cache reads, none for everything else. */
+    private static String cacheResult(Object value, Object[] args) {
+        if (value instanceof CacheService.ProductLookup lookup) {
+            // A tombstone answers the lookup as much as a product does
+            return lookup.product() != null || lookup.missing() ? HIT : MISS;
+        }
+        if (value instanceof ProductJson) {
+            return HIT;
+        }
+        if (value instanceof Map<?, ?> found && args.length > 1 && args[1] instanceof Collection<?> ids) {
+            return found.size() >= ids.size() ? HIT : MISS;
+        }
+        if (value == null && args.length == 1) {
+            // ProductNearCache.getJson; every CacheService method takes the template first
+            return MISS;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,75 @@
+package com.services.productservice.configs;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.services.productservice.utils.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Sends read-only transactions to the read replicas and everything else to
+ * the primary. The application's data source is a
+ * {@link LazyConnectionDataSourceProxy}, which defers taking a connection
+ * until the first statement; by then the transaction manager has marked the
+ * connection read-only or not, and read-only ones come from the
+ * {@link ReplicaRoutingDataSource}. Work outside a transaction stays on the
+ * primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+            @Value("${product.datasource.replica.urls}") List<String> urls,
+            @Value("${product.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${product.datasource.replica.password:${spring.datasource.password}}") String password,
+            @Value("${product.datasource.replica.pool-size:10}") int poolSize,
+            @Value("${product.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${product.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setDriverClassName(primaryDataSource.getDriverClassName());
+            // Same Connector/J properties as spring.datasource.hikari.data-source-properties gives the primary
+            config.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            config.setMaximumPoolSize(poolSize);
+            config.setReadOnly(true);
+            replicas.put(name, new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, lagQuery, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+            ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
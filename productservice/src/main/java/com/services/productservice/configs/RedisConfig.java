@@ -1,17 +1,71 @@
 package com.services.productservice.configs;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.ProductCacheInvalidationListener;
+import com.services.productservice.services.ProductNearCache;
+import com.services.productservice.services.ProductSuggestSync;
+import com.services.productservice.utils.CompactProductSerializer;
 
 @Configuration
 public class RedisConfig {
     @Bean
-    public RedisTemplate<Long, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public RedisTemplate<Long, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+            @Value("${product.cache.redis.serializer:compact}") String serializer) {
         RedisTemplate<Long, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(redisConnectionFactory);
+        // Keys and hash fields keep the default serializer so existing entries stay addressable
+        template.setHashValueSerializer(productValueSerializer(serializer));
         return template;
     }
 
+    /** Serializer for the cached product hash values: compact (default), jdk or json. */
+    static RedisSerializer<Object> productValueSerializer(String name) {
+        switch (name) {
+            case "compact":
+                return new CompactProductSerializer();
+            case "jdk":
+                return new JdkSerializationRedisSerializer();
+            case "json":
+                return new GenericJackson2JsonRedisSerializer();
+            default:
+                throw new IllegalArgumentException("Unknown product.cache.redis.serializer: " + name);
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "product.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer productCacheInvalidationContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            ProductNearCache nearCache,
+            RedisTemplate<Long, Object> redisTemplate) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(new ProductCacheInvalidationListener(nearCache, redisTemplate),
+                new ChannelTopic(CacheService.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "product.suggest.sync.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer productSuggestSyncContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            ProductSuggestSync productSuggestSync) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(productSuggestSync, new ChannelTopic(ProductSuggestSync.CHANNEL));
+        return container;
+    }
+
 }
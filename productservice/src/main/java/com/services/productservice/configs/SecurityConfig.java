@@ -29,7 +29,9 @@ public class SecurityConfig {
                                                                 "/v3/api-docs/**",
                                                                 "/swagger-ui/**",
                                                                 "/swagger-ui.html",
-                                                                "/api/products/**"
+                                                                "/api/products/**",
+                                                                "/actuator/prometheus",
+                                                                "/actuator/health/**"
                                                               )
                                                 
                                                 .permitAll()
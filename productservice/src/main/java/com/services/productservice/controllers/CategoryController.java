@@ -1,8 +1,9 @@
 package com.services.productservice.controllers;
 
+import com.services.productservice.dtos.CategoryDeleteJobResponse;
 import com.services.productservice.models.Category;
 import com.services.productservice.repositories.CategoryRepository;
-import com.services.productservice.services.ProductService;
+import com.services.productservice.services.CategoryDeleteJobService;
 import com.services.productservice.services.CategoryService;
 
 import org.springframework.http.ResponseEntity;
@@ -16,13 +17,14 @@ import java.util.List;
 @RequestMapping("/api/categories")
 public class CategoryController {
     private final CategoryRepository categoryRepo;
-    private final ProductService productService;
     private final CategoryService categoryService;
+    private final CategoryDeleteJobService categoryDeleteJobService;
 
-    public CategoryController(CategoryRepository categoryRepo, ProductService productService, CategoryService categoryService) {
+    public CategoryController(CategoryRepository categoryRepo, CategoryService categoryService,
+            CategoryDeleteJobService categoryDeleteJobService) {
         this.categoryRepo = categoryRepo;
-        this.productService = productService;
         this.categoryService = categoryService;
+        this.categoryDeleteJobService = categoryDeleteJobService;
     }
 
     @GetMapping
@@ -58,8 +60,13 @@ public class CategoryController {
 
     @DeleteMapping("/{id}/products")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteAllProductsByCategory(@PathVariable("id") Long id) {
-        productService.deleteAllProductsByCategoryId(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<CategoryDeleteJobResponse> deleteAllProductsByCategory(@PathVariable("id") Long id) {
+        return ResponseEntity.accepted().body(categoryDeleteJobService.deleteAllProducts(id));
+    }
+
+    @GetMapping("/product-delete-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryDeleteJobResponse> getProductDeleteJob(@PathVariable("jobId") Long jobId) {
+        return ResponseEntity.ok(categoryDeleteJobService.getJob(jobId));
     }
 }
\ No newline at end of file
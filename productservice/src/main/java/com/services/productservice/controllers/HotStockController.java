@@ -0,0 +1,49 @@
+package com.services.productservice.controllers;
+
+import com.services.productservice.dtos.HotStockStatus;
+import com.services.productservice.services.HotStockService;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products/stock/hot")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "product.hot-stock.enabled", havingValue = "true")
+@PreAuthorize("hasRole('ADMIN')")
+public class HotStockController {
+
+    private final HotStockService hotStockService;
+
+    @GetMapping
+    public ResponseEntity<List<HotStockStatus>> getHotProducts() {
+        return ResponseEntity.ok(hotStockService.checkAll());
+    }
+
+    @PostMapping("/{productId}")
+    public ResponseEntity<HotStockStatus> promote(@PathVariable Long productId) {
+        return ResponseEntity.ok(hotStockService.promote(productId));
+    }
+
+    @DeleteMapping("/{productId}")
+    public ResponseEntity<Void> demote(@PathVariable Long productId) {
+        hotStockService.demote(productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{productId}/consistency")
+    public ResponseEntity<HotStockStatus> checkConsistency(@PathVariable Long productId) {
+        return ResponseEntity.ok(hotStockService.check(productId));
+    }
+
+    @PostMapping("/flush")
+    public ResponseEntity<Integer> flush() {
+        return ResponseEntity.ok(hotStockService.flush());
+    }
+}
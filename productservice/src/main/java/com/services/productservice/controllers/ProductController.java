@@ -1,6 +1,9 @@
 package com.services.productservice.controllers;
 
+import com.services.common.dtos.CursorPage;
+import com.services.common.dtos.ProductBatchRequest;
 import com.services.common.dtos.ProductResponse;
+import com.services.productservice.dtos.ProductJson;
 import com.services.productservice.dtos.ProductRequest;
 
 import com.services.productservice.services.ProductService;
@@ -10,12 +13,17 @@ import org.springframework.validation.annotation.Validated;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 import java.util.List;
 
@@ -41,9 +49,30 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts(pageNumber, pageSize));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ProductResponse>> getProductsAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(productService.getProductsAfter(after, limit));
+    }
+
+    // Writes the cached JSON bytes as they are, without mapping them back to a ProductResponse
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@Valid @PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<byte[]> getProductById(@Valid @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProductJson product = productService.getProductJsonById(id);
+        if (product.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(product.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(product.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(product.body());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductResponse>> getProductsByIds(@Valid @RequestBody ProductBatchRequest request) {
+        return ResponseEntity.ok(productService.getProductsByIds(request.getIds()));
     }
 
     @GetMapping("/{id}/verify-stock")
@@ -121,6 +150,14 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductsByCategory(category, pageNumber, pageSize));
     }
 
+    @GetMapping("/category/{category}/cursor")
+    public ResponseEntity<CursorPage<ProductResponse>> getProductsByCategoryAfter(
+            @PathVariable String category,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(productService.getProductsByCategoryAfter(category, after, limit));
+    }
+
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Transactional
@@ -0,0 +1,45 @@
+package com.services.productservice.controllers;
+
+import com.services.productservice.services.ProductExportService;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full catalog feed for downstream consumers, written while it is read from
+ * MySQL. {@code gzip=true} compresses the stream and sets
+ * {@code Content-Encoding: gzip}.
+ */
+@RestController
+@RequestMapping("/api/products/export")
+@RequiredArgsConstructor
+public class ProductExportController {
+
+    private final ProductExportService productExportService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportProducts(@RequestParam(defaultValue = "false") boolean gzip, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\"");
+        if (!gzip) {
+            productExportService.exportProducts(response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        try (OutputStream out = new GZIPOutputStream(response.getOutputStream(), 64 * 1024)) {
+            productExportService.exportProducts(out);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.services.productservice.controllers;
+
+import com.services.productservice.services.ProductImportService;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * Bulk catalog loads. The body is read while the report is written, one
+ * NDJSON line per input row followed by a summary line, so neither side is
+ * held in memory. CSV bodies need a header row naming the product fields.
+ */
+@RestController
+@RequestMapping("/api/products/import")
+@RequiredArgsConstructor
+public class ProductImportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ProductImportService productImportService;
+
+    @PostMapping(consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ProductImportService.Format format = TEXT_CSV.isCompatibleWith(contentType)
+                ? ProductImportService.Format.CSV
+                : ProductImportService.Format.NDJSON;
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        productImportService.importProducts(request.getInputStream(), format, response.getOutputStream());
+    }
+}
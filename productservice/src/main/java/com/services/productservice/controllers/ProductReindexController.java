@@ -0,0 +1,35 @@
+package com.services.productservice.controllers;
+
+import com.services.productservice.dtos.ReindexJobResponse;
+import com.services.productservice.services.ProductReindexService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/products/admin/reindex")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ProductReindexController {
+
+    private final ProductReindexService productReindexService;
+
+    @PostMapping
+    public ResponseEntity<ReindexJobResponse> startReindex() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(productReindexService.startReindex());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReindexJobResponse> getJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(productReindexService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ReindexJobResponse> resume(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(productReindexService.resume(jobId));
+    }
+}
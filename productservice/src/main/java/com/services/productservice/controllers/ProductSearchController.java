@@ -0,0 +1,77 @@
+package com.services.productservice.controllers;
+
+import com.services.common.dtos.CursorPage;
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.dtos.FacetedSearchResponse;
+import com.services.productservice.services.ProductSearchService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cursor variants of the search endpoints for infinite scroll. Pass the
+ * returned {@code nextCursor} as {@code after} with the same search
+ * parameters to get the next page.
+ */
+@RestController
+@RequestMapping("/api/products/search")
+@RequiredArgsConstructor
+@Validated
+public class ProductSearchController {
+
+    private final ProductSearchService productSearchService;
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ProductResponse>> searchProducts(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(productSearchService.searchByName(keyword, after, limit));
+    }
+
+    @GetMapping("/full-text/cursor")
+    public ResponseEntity<CursorPage<ProductResponse>> fullTextSearch(
+            @RequestParam String text,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(productSearchService.fullTextSearch(text, after, limit));
+    }
+
+    @GetMapping("/advanced/cursor")
+    public ResponseEntity<CursorPage<ProductResponse>> searchByMultipleCriteria(
+            @RequestParam(required = false) String categoryName,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(productSearchService.searchByMultipleCriteria(
+                categoryName, brand, minPrice, maxPrice, after, limit));
+    }
+
+    /**
+     * Hits and the brand, category and price facets for a filter sidebar in a
+     * single search. Brand and category can be repeated to select several values.
+     */
+    @GetMapping("/faceted")
+    public ResponseEntity<FacetedSearchResponse> facetedSearch(
+            @RequestParam(required = false) String text,
+            @RequestParam(required = false) List<String> brand,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = "100") @Positive double priceInterval,
+            @RequestParam(defaultValue = "0") @Min(0) int pageNumber,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int pageSize) {
+        return ResponseEntity.ok(productSearchService.facetedSearch(
+                text, brand, category, minPrice, maxPrice, priceInterval, pageNumber, pageSize));
+    }
+}
@@ -0,0 +1,33 @@
+package com.services.productservice.controllers;
+
+import com.services.productservice.dtos.ProductSuggestion;
+import com.services.productservice.services.ProductSuggestService;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Typeahead served from memory; no Elasticsearch query per keystroke.
+ */
+@RestController
+@RequestMapping("/api/products/suggest")
+@RequiredArgsConstructor
+@Validated
+public class ProductSuggestController {
+
+    private final ProductSuggestService productSuggestService;
+
+    @GetMapping
+    public ResponseEntity<List<ProductSuggestion>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(10) int limit) {
+        return ResponseEntity.ok(productSuggestService.suggest(prefix, limit));
+    }
+}
@@ -0,0 +1,45 @@
+package com.services.productservice.controllers;
+
+import com.services.common.dtos.StockReservationRequest;
+import com.services.common.dtos.StockReservationResponse;
+import com.services.productservice.services.StockReservationService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/products/stock/reservations")
+@RequiredArgsConstructor
+@Validated
+// Checkout calls these with the customer's token; /api/products/** is otherwise open to anonymous callers
+@PreAuthorize("isAuthenticated()")
+public class StockReservationController {
+
+    private final StockReservationService stockReservationService;
+
+    @PostMapping
+    public ResponseEntity<StockReservationResponse> reserve(@Valid @RequestBody StockReservationRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(stockReservationService.reserve(request));
+    }
+
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<StockReservationResponse> getReservation(@PathVariable String reservationId) {
+        return ResponseEntity.ok(stockReservationService.getReservation(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/commit")
+    public ResponseEntity<StockReservationResponse> commit(@PathVariable String reservationId) {
+        return ResponseEntity.ok(stockReservationService.commit(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/release")
+    public ResponseEntity<StockReservationResponse> release(@PathVariable String reservationId) {
+        return ResponseEntity.ok(stockReservationService.release(reservationId));
+    }
+}
@@ -2,7 +2,12 @@ package com.services.productservice.controllers.advices;
 
 import com.services.productservice.dtos.ExcpetionDto;
 import com.services.productservice.exceptions.IncompleteProductInfo;
+import com.services.productservice.exceptions.InsufficientStockException;
+import com.services.productservice.exceptions.InvalidReservationStateException;
 import com.services.productservice.exceptions.ProductNotFoundException;
+import com.services.productservice.exceptions.ReindexConflictException;
+import com.services.productservice.exceptions.SearchCursorExpiredException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,6 +15,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashMap;
 import java.util.Map;
 import org.springframework.validation.FieldError;
+import jakarta.validation.ConstraintViolationException;
 
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
@@ -51,6 +57,14 @@ public class ProductControllerAdvice {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ExcpetionDto> handleConstraintViolation(ConstraintViolationException ex) {
+        ExcpetionDto error = new ExcpetionDto();
+        error.setStatus("BadRequest");
+        error.setMessage(ex.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ExcpetionDto> handleMismatch(MethodArgumentTypeMismatchException ex) {
         ExcpetionDto error = new ExcpetionDto();
@@ -67,6 +81,47 @@ public class ProductControllerAdvice {
         return new ResponseEntity<>(excpetionDto, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ExcpetionDto> handleInsufficientStockException(InsufficientStockException e) {
+        ExcpetionDto excpetionDto = new ExcpetionDto();
+        excpetionDto.setMessage(e.getMessage());
+        excpetionDto.setStatus("Failure");
+        return new ResponseEntity<>(excpetionDto, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidReservationStateException.class)
+    public ResponseEntity<ExcpetionDto> handleInvalidReservationStateException(InvalidReservationStateException e) {
+        ExcpetionDto excpetionDto = new ExcpetionDto();
+        excpetionDto.setMessage(e.getMessage());
+        excpetionDto.setStatus("Failure");
+        return new ResponseEntity<>(excpetionDto, HttpStatus.CONFLICT);
+    }
+
+    // The product's version moved on between the read and the write, e.g. a stock update landed
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExcpetionDto> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        ExcpetionDto excpetionDto = new ExcpetionDto();
+        excpetionDto.setMessage("Product was modified concurrently, please retry");
+        excpetionDto.setStatus("Failure");
+        return new ResponseEntity<>(excpetionDto, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ReindexConflictException.class)
+    public ResponseEntity<ExcpetionDto> handleReindexConflictException(ReindexConflictException e) {
+        ExcpetionDto excpetionDto = new ExcpetionDto();
+        excpetionDto.setMessage(e.getMessage());
+        excpetionDto.setStatus("Failure");
+        return new ResponseEntity<>(excpetionDto, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(SearchCursorExpiredException.class)
+    public ResponseEntity<ExcpetionDto> handleSearchCursorExpiredException(SearchCursorExpiredException e) {
+        ExcpetionDto excpetionDto = new ExcpetionDto();
+        excpetionDto.setMessage(e.getMessage());
+        excpetionDto.setStatus("Failure");
+        return new ResponseEntity<>(excpetionDto, HttpStatus.GONE);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ExcpetionDto> handleIllegalArgumentException(IllegalArgumentException e) {
         ExcpetionDto excpetionDto = new ExcpetionDto();
@@ -0,0 +1,20 @@
+package com.services.productservice.dtos;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CategoryDeleteJobResponse {
+    private Long id;
+    private Long categoryId;
+    private String status;
+    private long totalCount;
+    private long deletedCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    private String error;
+}
@@ -0,0 +1,41 @@
+package com.services.productservice.dtos;
+
+import java.util.List;
+
+import com.services.common.dtos.ProductResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class FacetedSearchResponse {
+    private List<ProductResponse> items;
+    private long totalHits;
+    private int pageNumber;
+    private int pageSize;
+    private List<FacetBucket> brands;
+    private List<FacetBucket> categories;
+    private List<PriceBucket> prices;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetBucket {
+        private String value;
+        private long count;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private double from;
+        private double to;
+        private long count;
+    }
+}
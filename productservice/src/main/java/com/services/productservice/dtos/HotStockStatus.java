@@ -0,0 +1,18 @@
+package com.services.productservice.dtos;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class HotStockStatus {
+    private Long productId;
+    private boolean hot;
+    private Long redisAvailable;
+    private long pendingDecrements;
+    private int databaseStock;
+    private long heldQuantity;
+    // (redis + pending) - (database - held); zero when both sides agree
+    private long drift;
+    private boolean consistent;
+}
@@ -0,0 +1,21 @@
+package com.services.productservice.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Last line of the import report. {@code error} is set when the import stopped early. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductImportSummary {
+    private long total;
+    private long created;
+    private long rejected;
+    private long failed;
+    private long elapsedMs;
+    private String error;
+}
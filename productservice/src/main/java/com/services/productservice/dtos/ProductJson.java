@@ -0,0 +1,27 @@
+package com.services.productservice.dtos;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * A product already serialized to its JSON response body, with a strong
+ * ETag computed over exactly those bytes.
+ */
+public record ProductJson(byte[] body, String etag) {
+
+    public static ProductJson of(byte[] body) {
+        return new ProductJson(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches this body. Uses weak
+     * comparison as GET allows, so {@code W/"x"} also matches {@code "x"};
+     * a quoted tag can't occur inside another one, so a substring check
+     * covers header lists without splitting them.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*");
+    }
+}
@@ -0,0 +1,21 @@
+package com.services.productservice.dtos;
+
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ReindexJobResponse {
+    private Long id;
+    private String status;
+    private String targetIndex;
+    private long lastProductId;
+    private long indexedCount;
+    private double docsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    private String error;
+}
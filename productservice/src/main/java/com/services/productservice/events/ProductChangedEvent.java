@@ -0,0 +1,16 @@
+package com.services.productservice.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published inside the transaction that creates, updates or deletes a
+ * product. Listeners that only care about committed state should use
+ * {@code @TransactionalEventListener}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+    private final Long productId;
+    private final boolean deleted;
+}
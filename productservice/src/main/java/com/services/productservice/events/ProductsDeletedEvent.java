@@ -0,0 +1,16 @@
+package com.services.productservice.events;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after a batch of products has been deleted in bulk, in place of
+ * one {@link ProductChangedEvent} per product.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductsDeletedEvent {
+    private final List<Long> productIds;
+}
@@ -0,0 +1,15 @@
+package com.services.productservice.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published after a bulk import has committed its products. Imports skip
+ * the per-product {@link ProductChangedEvent}s, so listeners that keep
+ * derived state should reload it.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductsImportedEvent {
+    private final long created;
+}
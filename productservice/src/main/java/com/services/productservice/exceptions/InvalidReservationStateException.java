@@ -0,0 +1,7 @@
+package com.services.productservice.exceptions;
+
+public class InvalidReservationStateException extends RuntimeException {
+    public InvalidReservationStateException(String reservationId, String currentStatus, String action) {
+        super("Cannot " + action + " reservation " + reservationId + " in status " + currentStatus);
+    }
+}
@@ -0,0 +1,7 @@
+package com.services.productservice.exceptions;
+
+public class ReindexConflictException extends RuntimeException {
+    public ReindexConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.services.productservice.exceptions;
+
+public class SearchCursorExpiredException extends RuntimeException {
+    public SearchCursorExpiredException(String message) {
+        super(message);
+    }
+}
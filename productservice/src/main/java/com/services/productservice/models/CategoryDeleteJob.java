@@ -0,0 +1,48 @@
+package com.services.productservice.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Deletion of every product in a category. {@code lastProductId} is the
+ * highest id deleted so far; products are removed in id order.
+ */
+@Entity
+@Table(name = "category_delete_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryDeleteJob extends BaseModel {
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CategoryDeleteStatus status;
+
+    // Products in the category when the job started
+    @Column(nullable = false)
+    private long totalCount;
+
+    @Column(nullable = false)
+    private long deletedCount;
+
+    @Column(nullable = false)
+    private long lastProductId;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(length = 1000)
+    private String error;
+}
@@ -0,0 +1,7 @@
+package com.services.productservice.models;
+
+public enum CategoryDeleteStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
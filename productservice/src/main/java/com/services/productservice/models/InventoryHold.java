@@ -0,0 +1,34 @@
+package com.services.productservice.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "inventory_holds", indexes = {
+        @Index(name = "idx_inventory_holds_expires_at", columnList = "expiresAt"),
+        @Index(name = "idx_inventory_holds_product_expires", columnList = "productId, expiresAt"),
+        @Index(name = "idx_inventory_holds_reservation", columnList = "reservation_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryHold extends BaseModel {
+    private static final long serialVersionUID = 1L;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "reservation_id")
+    private StockReservation reservation;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
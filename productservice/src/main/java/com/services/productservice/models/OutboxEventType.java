@@ -0,0 +1,6 @@
+package com.services.productservice.models;
+
+public enum OutboxEventType {
+    UPSERT,
+    DELETE
+}
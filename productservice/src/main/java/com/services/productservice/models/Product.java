@@ -20,4 +20,9 @@ public class Product extends BaseModel {
     private String brand;
     private Integer stockQuantity;
     private String imageUrl;
+    // Bumped by every write, including the bulk stock updates; the search document's external version,
+    // also published with change events
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
\ No newline at end of file
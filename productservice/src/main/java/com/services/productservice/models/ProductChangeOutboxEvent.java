@@ -0,0 +1,43 @@
+package com.services.productservice.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A pending {@code ProductChanged} message for one product, inserted in the
+ * same transaction as the MySQL change. The relay publishes the product's
+ * state when it runs, so the row only records which fields changed.
+ */
+@Entity
+@Table(name = "product_change_outbox", indexes = {
+        @Index(name = "idx_product_change_outbox_next_attempt", columnList = "nextAttemptAt, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductChangeOutboxEvent extends BaseModel {
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    // Comma-separated ProductResponse field names; empty for a delete
+    @Column(nullable = false)
+    private String changedFields;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+}
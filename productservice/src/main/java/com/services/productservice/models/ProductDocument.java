@@ -1,5 +1,6 @@
 package com.services.productservice.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
@@ -11,6 +12,8 @@ import org.springframework.data.elasticsearch.annotations.Document;
 @AllArgsConstructor
 @Builder
 @ToString
+// Read back through the Elasticsearch Java client, which sees Spring Data's _class field
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class ProductDocument {
 
     @Id
@@ -0,0 +1,47 @@
+package com.services.productservice.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A pending Elasticsearch write for one product, inserted in the same
+ * transaction as the MySQL change. The relay indexes whatever the product
+ * row holds when it runs, so the row only needs to carry the id, plus the
+ * last version for a delete, when the product row is gone.
+ */
+@Entity
+@Table(name = "product_outbox", indexes = {
+        @Index(name = "idx_product_outbox_next_attempt", columnList = "nextAttemptAt, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductOutboxEvent extends BaseModel {
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxEventType eventType;
+
+    // Set on deletes only
+    private Long version;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,56 @@
+package com.services.productservice.models;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A rebuild of the products index. {@code lastProductId} is the keyset
+ * checkpoint: every product up to it is already in {@code targetIndex}, so a
+ * resumed run continues after it.
+ */
+@Entity
+@Table(name = "product_reindex_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductReindexJob extends BaseModel {
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false, length = 100)
+    private String targetIndex;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReindexStatus status;
+
+    // The alias while RUNNING, null otherwise; unique, so a second job for the alias cannot start
+    @Column(length = 100, unique = true)
+    private String activeAlias;
+
+    @Column(nullable = false)
+    private long lastProductId;
+
+    @Column(nullable = false)
+    private long indexedCount;
+
+    // Where the current run started from, used for the docs/sec figure
+    @Column(nullable = false)
+    private long runStartCount;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime runStartedAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    @Column(length = 1000)
+    private String error;
+}
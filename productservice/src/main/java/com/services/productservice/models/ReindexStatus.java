@@ -0,0 +1,7 @@
+package com.services.productservice.models;
+
+public enum ReindexStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
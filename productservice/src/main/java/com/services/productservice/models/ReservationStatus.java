@@ -0,0 +1,8 @@
+package com.services.productservice.models;
+
+public enum ReservationStatus {
+    RESERVED,
+    COMMITTED,
+    RELEASED,
+    EXPIRED
+}
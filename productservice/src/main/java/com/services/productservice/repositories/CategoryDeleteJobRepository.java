@@ -0,0 +1,36 @@
+package com.services.productservice.repositories;
+
+import com.services.productservice.models.CategoryDeleteJob;
+import com.services.productservice.models.CategoryDeleteStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CategoryDeleteJobRepository extends JpaRepository<CategoryDeleteJob, Long> {
+    Optional<CategoryDeleteJob> findFirstByCategoryIdAndStatusOrderByIdDesc(Long categoryId,
+            CategoryDeleteStatus status);
+
+    // Heartbeat for phases that make no checkpoint; matches nothing once the job was failed as stale
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CategoryDeleteJob j SET j.updatedAt = :now WHERE j.id = :id AND j.status = :running")
+    int touchIfRunning(@Param("id") Long id,
+            @Param("now") LocalDateTime now,
+            @Param("running") CategoryDeleteStatus running);
+
+    // Compare-and-set on updatedAt: a job that heartbeated since it was read is left running
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CategoryDeleteJob j SET j.status = :failed, j.updatedAt = :now, j.error = :error "
+            + "WHERE j.id = :id AND j.status = :running AND j.updatedAt = :seenUpdatedAt")
+    int failIfUnchanged(@Param("id") Long id,
+            @Param("seenUpdatedAt") LocalDateTime seenUpdatedAt,
+            @Param("now") LocalDateTime now,
+            @Param("error") String error,
+            @Param("running") CategoryDeleteStatus running,
+            @Param("failed") CategoryDeleteStatus failed);
+}
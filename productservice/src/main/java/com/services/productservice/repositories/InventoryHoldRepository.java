@@ -0,0 +1,48 @@
+package com.services.productservice.repositories;
+
+import com.services.productservice.models.InventoryHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, Long> {
+
+    interface HeldQuantity {
+        Long getProductId();
+
+        Long getQuantity();
+    }
+
+    // Holds past their expiry no longer count, whether or not the sweeper has removed them yet
+    @Query("SELECT COALESCE(SUM(h.quantity), 0) FROM InventoryHold h "
+            + "WHERE h.productId = :productId AND h.expiresAt > :now")
+    long sumActiveHeldQuantity(@Param("productId") Long productId, @Param("now") LocalDateTime now);
+
+    // Counts every hold row, expired or not; hot SKU counts only get expired holds back when swept
+    @Query("SELECT COALESCE(SUM(h.quantity), 0) FROM InventoryHold h WHERE h.productId = :productId")
+    long sumHeldQuantity(@Param("productId") Long productId);
+
+    @Query("SELECT h.productId AS productId, SUM(h.quantity) AS quantity FROM InventoryHold h "
+            + "WHERE h.reservation.id IN :reservationIds GROUP BY h.productId")
+    List<HeldQuantity> sumHeldQuantitiesByReservationIds(@Param("reservationIds") Collection<String> reservationIds);
+
+    @Query("SELECT h.productId AS productId, SUM(h.quantity) AS quantity FROM InventoryHold h "
+            + "WHERE h.productId IN :productIds AND h.expiresAt > :now GROUP BY h.productId")
+    List<HeldQuantity> sumActiveHeldQuantities(@Param("productIds") Collection<Long> productIds,
+            @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT h.reservation.id FROM InventoryHold h WHERE h.expiresAt <= :now")
+    List<String> findExpiredReservationIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM InventoryHold h WHERE h.reservation.id IN :reservationIds")
+    int deleteByReservationIds(@Param("reservationIds") Collection<String> reservationIds);
+}
@@ -0,0 +1,24 @@
+package com.services.productservice.repositories;
+
+import com.services.productservice.models.ProductChangeOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductChangeOutboxRepository extends JpaRepository<ProductChangeOutboxEvent, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM ProductChangeOutboxEvent e WHERE e.nextAttemptAt <= :now ORDER BY e.id")
+    List<ProductChangeOutboxEvent> claimReady(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,29 @@
+package com.services.productservice.repositories;
+
+import com.services.productservice.models.ProductOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductOutboxRepository extends JpaRepository<ProductOutboxEvent, Long> {
+
+    // SKIP LOCKED lets several relay instances drain the table without blocking each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM ProductOutboxEvent e WHERE e.nextAttemptAt <= :now ORDER BY e.id")
+    List<ProductOutboxEvent> claimReady(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT MIN(e.createdAt) FROM ProductOutboxEvent e")
+    Optional<LocalDateTime> findOldestCreatedAt();
+}
@@ -0,0 +1,39 @@
+package com.services.productservice.repositories;
+
+import com.services.productservice.models.ProductReindexJob;
+import com.services.productservice.models.ReindexStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ProductReindexJobRepository extends JpaRepository<ProductReindexJob, Long> {
+    Optional<ProductReindexJob> findFirstByStatusOrderByIdDesc(ReindexStatus status);
+
+    // Compare-and-set on updatedAt: of several callers that saw the same stalled job, one fails it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductReindexJob j SET j.status = :failed, j.activeAlias = null, j.updatedAt = :now, "
+            + "j.error = :error WHERE j.id = :id AND j.status = :running AND j.updatedAt = :seenUpdatedAt")
+    int failIfUnchanged(@Param("id") Long id,
+            @Param("seenUpdatedAt") LocalDateTime seenUpdatedAt,
+            @Param("now") LocalDateTime now,
+            @Param("error") String error,
+            @Param("running") ReindexStatus running,
+            @Param("failed") ReindexStatus failed);
+
+    // Only one of several resumes of the same failed job moves it back to RUNNING
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductReindexJob j SET j.status = :running, j.activeAlias = :alias, "
+            + "j.runStartCount = j.indexedCount, j.runStartedAt = :now, j.updatedAt = :now, j.error = null "
+            + "WHERE j.id = :id AND j.status = :failed")
+    int resumeIfFailed(@Param("id") Long id,
+            @Param("alias") String alias,
+            @Param("now") LocalDateTime now,
+            @Param("failed") ReindexStatus failed,
+            @Param("running") ReindexStatus running);
+}
@@ -6,7 +6,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +32,51 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Override
     @EntityGraph(attributePaths = "category")
     Optional<Product> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Product> findAllById(Iterable<Long> ids);
+
+    // Keyset pages: seek past the last id instead of using OFFSET, and never run a COUNT
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category WHERE p.id > :afterId ORDER BY p.id")
+    List<Product> findNextPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Served by the category_id index, which InnoDB keys on (category_id, id)
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category "
+            + "WHERE p.category = :category AND p.id > :afterId ORDER BY p.id")
+    List<Product> findNextPageInCategory(@Param("category") Category category, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId")
+    long countByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId AND p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsInCategoryAfter(@Param("categoryId") Long categoryId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    // One statement per batch instead of one per product; ids moved out of the category meanwhile are kept
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.id IN :ids AND p.category.id = :categoryId")
+    int deleteByIdsInCategory(@Param("ids") Collection<Long> ids, @Param("categoryId") Long categoryId);
+
+    // Row locks are taken in primary key order so concurrent reservations cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Guarded decrement: returns 0 when the product is missing or the stock not covered
+    // by active inventory holds is short
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.version = p.version + 1 "
+            + "WHERE p.id = :id AND p.stockQuantity - (SELECT COALESCE(SUM(h.quantity), 0) FROM InventoryHold h "
+            + "WHERE h.productId = :id AND h.expiresAt > :now) >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = COALESCE(p.stockQuantity, 0) + :quantity, "
+            + "p.version = p.version + 1 WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
@@ -0,0 +1,66 @@
+package com.services.productservice.repositories;
+
+import com.services.productservice.models.ReservationStatus;
+import com.services.productservice.models.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    interface SoldQuantity {
+        Long getProductId();
+
+        Long getQuantity();
+    }
+
+    @Override
+    @EntityGraph(attributePaths = "items")
+    Optional<StockReservation> findById(String id);
+
+    // Serializes commit/release calls racing on the same reservation
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.id = :id")
+    Optional<StockReservation> findByIdForUpdate(@Param("id") String id);
+
+    // Only still-open reservations are expired; a commit that won the row lock stays committed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :expired, r.updatedAt = :now "
+            + "WHERE r.id IN :ids AND r.status = :reserved")
+    int markExpired(@Param("ids") Collection<String> ids,
+            @Param("now") LocalDateTime now,
+            @Param("reserved") ReservationStatus reserved,
+            @Param("expired") ReservationStatus expired);
+
+    // Conditional on the reservation still being open, so a repeated release cannot restock twice
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :released, r.updatedAt = :now "
+            + "WHERE r.id = :id AND r.status = :reserved")
+    int markReleased(@Param("id") String id,
+            @Param("now") LocalDateTime now,
+            @Param("reserved") ReservationStatus reserved,
+            @Param("released") ReservationStatus released);
+
+    @Query("SELECT i.productId AS productId, SUM(i.quantity) AS quantity FROM StockReservationItem i "
+            + "WHERE i.reservation.status = :status GROUP BY i.productId")
+    List<SoldQuantity> sumQuantitiesByStatus(@Param("status") ReservationStatus status);
+
+    // Best sellers among reservations that reached the status since the given time
+    @Query("SELECT i.productId FROM StockReservationItem i "
+            + "WHERE i.reservation.status = :status AND i.reservation.updatedAt >= :since "
+            + "GROUP BY i.productId ORDER BY SUM(i.quantity) DESC")
+    List<Long> findTopProductIdsByQuantity(@Param("status") ReservationStatus status,
+            @Param("since") LocalDateTime since, Pageable pageable);
+}
@@ -1,15 +1,86 @@
 package com.services.productservice.services;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.services.common.dtos.ProductResponse;
 import com.services.productservice.models.Product;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Service
 public class CacheService {
+    public static final String INVALIDATION_CHANNEL = "product-cache-invalidation";
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheService.class);
+
     private String productKey = "PRODUCTS";
+    // Other fields of the same per-product hash
+    private static final String MISSING_KEY = "MISSING";
+    private static final String EXPIRES_AT_KEY = "EXPIRES_AT";
+    private static final String LOAD_MS_KEY = "LOAD_MS";
+
+    private final ProductNearCache nearCache;
+    private final Duration ttl;
+    private final Duration tombstoneTtl;
+    private final double earlyRefreshBeta;
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisEvictions;
+    private final Counter tombstoneHits;
+    private final Counter earlyRefreshes;
+
+    public CacheService(ProductNearCache nearCache, MeterRegistry meterRegistry,
+            @Value("${product.cache.redis.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${product.cache.redis.tombstone-ttl-seconds:30}") long tombstoneTtlSeconds,
+            @Value("${product.cache.redis.early-refresh-beta:1.0}") double earlyRefreshBeta) {
+        this.nearCache = nearCache;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.tombstoneTtl = Duration.ofSeconds(tombstoneTtlSeconds);
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.nearHits = requests(meterRegistry, "near", "hit");
+        this.nearMisses = requests(meterRegistry, "near", "miss");
+        this.redisHits = requests(meterRegistry, "redis", "hit");
+        this.redisMisses = requests(meterRegistry, "redis", "miss");
+        this.redisEvictions = Counter.builder("product.cache.evictions")
+                .tag("tier", "redis")
+                .description("Entries removed from the Redis product hash by writes")
+                .register(meterRegistry);
+        this.tombstoneHits = requests(meterRegistry, "redis", "tombstone");
+        this.earlyRefreshes = Counter.builder("product.cache.early.refreshes")
+                .description("Redis hits chosen to reload the product before its entry expires")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A product cache lookup: the product, a tombstone saying the id does not
+     * exist, or neither. {@code refreshEarly} asks the caller to reload the
+     * product even though it was found.
+     */
+    public record ProductLookup(ProductResponse product, boolean missing, boolean refreshEarly) {
+        static final ProductLookup MISS = new ProductLookup(null, false, false);
+        static final ProductLookup TOMBSTONE = new ProductLookup(null, true, false);
+    }
 
     public boolean isProductCached(RedisTemplate<Long, Object> redisTemplate, Long id) {
         return redisTemplate.opsForHash().hasKey(id, productKey);
@@ -20,15 +91,259 @@ public class CacheService {
     }
 
     public void deleteProductFromCache(RedisTemplate<Long, Object> redisTemplate, Long id) {
-        redisTemplate.opsForHash().delete(id, productKey);
+        // The hash only holds this product's entry and metadata, or its tombstone
+        redisTemplate.delete(id);
     }
 
     public ProductResponse getProductFromCache(RedisTemplate<Long, Object> redisTemplate, Long id) {
         return (ProductResponse) redisTemplate.opsForHash().get(id, productKey);
     }
 
+    /**
+     * Looks the product up in the near cache first and falls back to a single
+     * HGET on the Redis hash. Returns null when neither tier has the product.
+     */
+    public ProductResponse getProduct(RedisTemplate<Long, Object> redisTemplate, Long id) {
+        ProductResponse product = nearCache.get(id);
+        if (product != null) {
+            nearHits.increment();
+            return product;
+        }
+        nearMisses.increment();
+
+        product = getProductFromCache(redisTemplate, id);
+        if (product == null) {
+            redisMisses.increment();
+            return null;
+        }
+        redisHits.increment();
+        nearCache.put(id, product);
+        return product;
+    }
+
+    /**
+     * Like {@link #getProduct} but also reports tombstones, and on Redis hits
+     * decides whether to refresh early. The refresh uses probabilistic early
+     * expiration: a hit reloads with a probability that grows as the entry
+     * nears expiry, scaled by how long the last load took, so one request
+     * usually reloads a hot product before the entry expires for everyone.
+     */
+    public ProductLookup lookupProduct(RedisTemplate<Long, Object> redisTemplate, Long id) {
+        ProductResponse product = nearCache.get(id);
+        if (product != null) {
+            nearHits.increment();
+            return new ProductLookup(product, false, false);
+        }
+        nearMisses.increment();
+
+        List<Object> values = redisTemplate.opsForHash()
+                .multiGet(id, List.of(productKey, MISSING_KEY, EXPIRES_AT_KEY, LOAD_MS_KEY));
+        if (values == null) {
+            redisMisses.increment();
+            return ProductLookup.MISS;
+        }
+        if (values.get(1) != null) {
+            tombstoneHits.increment();
+            return ProductLookup.TOMBSTONE;
+        }
+        if (!(values.get(0) instanceof ProductResponse found)) {
+            redisMisses.increment();
+            return ProductLookup.MISS;
+        }
+        redisHits.increment();
+        nearCache.put(id, found);
+        boolean refresh = values.get(2) instanceof Number expiresAt && values.get(3) instanceof Number loadMs
+                && shouldRefreshEarly(expiresAt.longValue(), loadMs.longValue());
+        if (refresh) {
+            earlyRefreshes.increment();
+        }
+        return new ProductLookup(found, false, refresh);
+    }
+
+    private boolean shouldRefreshEarly(long expiresAt, long loadMs) {
+        // log of a uniform (0, 1] draw is <= 0, so this moves "now" forward by a random multiple of the load time
+        double draw = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return System.currentTimeMillis() - loadMs * earlyRefreshBeta * Math.log(draw) >= expiresAt;
+    }
+
+    /**
+     * Multi-get for a batch of products. Near cache hits are served from heap and
+     * the rest are fetched from Redis with one pipelined round trip. Ids that
+     * neither tier has are simply absent from the returned map.
+     */
+    public Map<Long, ProductResponse> getProducts(RedisTemplate<Long, Object> redisTemplate, Collection<Long> ids) {
+        Map<Long, ProductResponse> found = new HashMap<>();
+        List<Long> remaining = new ArrayList<>();
+        for (Long id : ids) {
+            ProductResponse product = nearCache.get(id);
+            if (product != null) {
+                nearHits.increment();
+                found.put(id, product);
+            } else {
+                nearMisses.increment();
+                remaining.add(id);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return found;
+        }
+
+        // Pipelined results are decoded with the given serializer, not the hash operations' one
+        List<Object> values = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                HashOperations<Long, Object, Object> hashOps = ((RedisOperations<Long, Object>) operations).opsForHash();
+                for (Long id : remaining) {
+                    hashOps.get(id, productKey);
+                }
+                return null;
+            }
+        }, redisTemplate.getHashValueSerializer());
+        for (int i = 0; i < remaining.size(); i++) {
+            Object value = values != null && i < values.size() ? values.get(i) : null;
+            if (value instanceof ProductResponse product) {
+                redisHits.increment();
+                nearCache.put(remaining.get(i), product);
+                found.put(remaining.get(i), product);
+            } else {
+                redisMisses.increment();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes a batch of products to both tiers, using a single pipeline for Redis.
+     * {@code loadMs} is how long the batch took to load, recorded on every
+     * entry so batch-cached products refresh early like single ones.
+     */
+    public void cacheProducts(RedisTemplate<Long, Object> redisTemplate, Map<Long, ProductResponse> products,
+            long loadMs) {
+        if (products.isEmpty()) {
+            return;
+        }
+        products.forEach(nearCache::put);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<Long, Object> redisOps = (RedisOperations<Long, Object>) operations;
+                HashOperations<Long, Object, Object> hashOps = redisOps.opsForHash();
+                long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+                products.forEach((id, product) -> {
+                    hashOps.putAll(id, Map.of(productKey, product, EXPIRES_AT_KEY, expiresAt, LOAD_MS_KEY, loadMs));
+                    hashOps.delete(id, MISSING_KEY);
+                    redisOps.expire(id, ttl);
+                });
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Caches the product in both tiers. {@code loadMs} is how long the database
+     * load took and scales how early hits start refreshing the entry.
+     */
     @Async
-    public void cacheProduct(RedisTemplate<Long, Object> redisTemplate, Long id, ProductResponse product) {
-        redisTemplate.opsForHash().put(id, productKey, product);
+    public void cacheProduct(RedisTemplate<Long, Object> redisTemplate, Long id, ProductResponse product,
+            long loadMs) {
+        nearCache.put(id, product);
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<Long, Object> redisOps = (RedisOperations<Long, Object>) operations;
+                redisOps.opsForHash().putAll(id, Map.of(productKey, product, EXPIRES_AT_KEY, expiresAt,
+                        LOAD_MS_KEY, loadMs));
+                redisOps.opsForHash().delete(id, MISSING_KEY);
+                redisOps.expire(id, ttl);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Remembers for a short while that the id does not exist, so repeated
+     * lookups of unknown ids stop reaching MySQL. Creating the product evicts
+     * the tombstone.
+     */
+    public void cacheMissing(RedisTemplate<Long, Object> redisTemplate, Long id) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<Long, Object> redisOps = (RedisOperations<Long, Object>) operations;
+                redisOps.opsForHash().put(id, MISSING_KEY, Boolean.TRUE);
+                redisOps.expire(id, tombstoneTtl);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Drops the product from both tiers and tells the other replicas to drop
+     * their near cache entry as well.
+     */
+    public void evictProduct(RedisTemplate<Long, Object> redisTemplate, Long id) {
+        nearCache.invalidate(id);
+        try {
+            deleteProductFromCache(redisTemplate, id);
+            redisEvictions.increment();
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, id);
+        } catch (Exception e) {
+            logger.error("Failed to evict product {} from Redis", id, e);
+        }
+    }
+
+    /**
+     * Evicts a batch of products with one DEL for all their hashes and the
+     * invalidation messages sent in one pipeline.
+     */
+    public void evictProducts(RedisTemplate<Long, Object> redisTemplate, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(nearCache::invalidate);
+        try {
+            redisTemplate.delete(ids);
+            redisEvictions.increment(ids.size());
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<Long, Object> redisOps = (RedisOperations<Long, Object>) operations;
+                    ids.forEach(id -> redisOps.convertAndSend(INVALIDATION_CHANNEL, id));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Failed to evict {} products from Redis", ids.size(), e);
+        }
+    }
+
+    /**
+     * Evicts once the surrounding transaction commits. Evicting earlier would let
+     * a concurrent read re-cache the row as it was before the write.
+     */
+    public void evictProductAfterCommit(RedisTemplate<Long, Object> redisTemplate, Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictProduct(redisTemplate, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictProduct(redisTemplate, id);
+            }
+        });
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("product.cache.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
     }
 }
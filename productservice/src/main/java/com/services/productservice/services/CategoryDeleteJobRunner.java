@@ -0,0 +1,252 @@
+package com.services.productservice.services;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.services.productservice.events.ProductsDeletedEvent;
+import com.services.productservice.models.CategoryDeleteJob;
+import com.services.productservice.models.CategoryDeleteStatus;
+import com.services.productservice.models.ProductReindexJob;
+import com.services.productservice.models.ReindexStatus;
+import com.services.productservice.repositories.CategoryDeleteJobRepository;
+import com.services.productservice.repositories.ProductReindexJobRepository;
+import com.services.productservice.repositories.ProductRepository;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch.core.DeleteByQueryResponse;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+
+/**
+ * Deletes a category's products in id order, one set-based DELETE and one
+ * batched cache purge per batch, checkpointing progress on the job after
+ * each. The search index is then cleared with a single delete-by-query on
+ * {@code category.id} rather than an outbox row per product.
+ *
+ * <p>Products added to the category while the job ran survive in MySQL but
+ * match the delete-by-query, so they are queued for indexing again
+ * afterwards.
+ *
+ * <p>The delete-by-query runs as a task that is polled, and the survivors
+ * are queued a page at a time, touching the job's {@code updatedAt} in
+ * between so a long phase is not mistaken for a dead instance. A job failed
+ * as stale meanwhile has been replaced; its run stops at the next heartbeat.
+ */
+@Component
+public class CategoryDeleteJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryDeleteJobRunner.class);
+
+    private final ProductRepository productRepository;
+    private final CategoryDeleteJobRepository categoryDeleteJobRepository;
+    private final ProductReindexJobRepository productReindexJobRepository;
+    private final ProductIndexOutbox productIndexOutbox;
+    private final ProductChangeOutbox productChangeOutbox;
+    private final ElasticsearchClient elasticsearchClient;
+    private final CacheService cacheService;
+    private final RedisTemplate<Long, Object> redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<SearchResultCache> searchResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final String indexName;
+    private final int batchSize;
+    private final long taskPollMillis;
+
+    public CategoryDeleteJobRunner(ProductRepository productRepository,
+            CategoryDeleteJobRepository categoryDeleteJobRepository,
+            ProductReindexJobRepository productReindexJobRepository,
+            ProductIndexOutbox productIndexOutbox,
+            ProductChangeOutbox productChangeOutbox,
+            ElasticsearchClient elasticsearchClient,
+            CacheService cacheService,
+            RedisTemplate<Long, Object> redisTemplate,
+            ApplicationEventPublisher eventPublisher,
+            ObjectProvider<SearchResultCache> searchResultCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.outbox.relay.index:products}") String indexName,
+            @Value("${product.category-delete.batch-size:5000}") int batchSize,
+            @Value("${product.category-delete.task-poll-ms:5000}") long taskPollMillis) {
+        this.productRepository = productRepository;
+        this.categoryDeleteJobRepository = categoryDeleteJobRepository;
+        this.productReindexJobRepository = productReindexJobRepository;
+        this.productIndexOutbox = productIndexOutbox;
+        this.productChangeOutbox = productChangeOutbox;
+        this.elasticsearchClient = elasticsearchClient;
+        this.cacheService = cacheService;
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.searchResultCache = searchResultCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.indexName = indexName;
+        this.batchSize = batchSize;
+        this.taskPollMillis = taskPollMillis;
+    }
+
+    @Async
+    public void run(Long jobId) {
+        CategoryDeleteJob job = categoryDeleteJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            logger.warn("Category delete job {} disappeared before it started", jobId);
+            return;
+        }
+        Long categoryId = job.getCategoryId();
+        long afterId = job.getLastProductId();
+        logger.info("Category delete job {} removing products of category {}", jobId, categoryId);
+
+        try {
+            while (true) {
+                List<Long> ids = productRepository.findIdsInCategoryAfter(categoryId, afterId,
+                        PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Integer deleted = transactionTemplate.execute(status -> {
+                    int count = productRepository.deleteByIdsInCategory(ids, categoryId);
+                    productChangeOutbox.enqueueDeletes(ids);
+                    return count;
+                });
+                cacheService.evictProducts(redisTemplate, ids);
+                eventPublisher.publishEvent(new ProductsDeletedEvent(ids));
+                afterId = ids.get(ids.size() - 1);
+                checkpoint(jobId, afterId, deleted != null ? deleted : 0);
+            }
+
+            deleteFromIndex(jobId, categoryId);
+            reindexSurvivors(jobId, categoryId);
+            searchResultCache.ifAvailable(SearchResultCache::bumpVersion);
+            complete(jobId);
+        } catch (TakenOverException e) {
+            logger.warn("Category delete job {} was failed as stale and replaced, stopping", jobId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Category delete job {} interrupted while clearing the index", jobId);
+            fail(jobId, e);
+        } catch (Exception e) {
+            logger.error("Category delete job {} failed after product id {}", jobId, afterId, e);
+            fail(jobId, e);
+        }
+    }
+
+    private void deleteFromIndex(Long jobId, Long categoryId) throws IOException, InterruptedException {
+        // A reindex target being loaded may hold the category's products too
+        List<String> indices = new ArrayList<>();
+        indices.add(indexName);
+        productReindexJobRepository.findFirstByStatusOrderByIdDesc(ReindexStatus.RUNNING)
+                .map(ProductReindexJob::getTargetIndex)
+                .ifPresent(indices::add);
+
+        String taskId = elasticsearchClient.deleteByQuery(d -> d.index(indices)
+                .query(q -> q.term(t -> t.field("category.id").value(categoryId)))
+                .conflicts(Conflicts.Proceed)
+                .refresh(true)
+                .waitForCompletion(false))
+                .task();
+        GetTasksResponse task;
+        while (true) {
+            heartbeat(jobId);
+            task = elasticsearchClient.tasks().get(g -> g.taskId(taskId));
+            if (task.completed()) {
+                break;
+            }
+            Thread.sleep(taskPollMillis);
+        }
+        if (task.error() != null) {
+            throw new IllegalStateException("Delete-by-query task " + taskId + " failed: " + task.error().reason());
+        }
+        DeleteByQueryResponse response = task.response().to(DeleteByQueryResponse.class);
+        if (!response.failures().isEmpty()) {
+            throw new IllegalStateException("Delete-by-query failed for " + response.failures().size()
+                    + " documents: " + response.failures().get(0).cause().reason());
+        }
+        logger.info("Removed {} documents of category {} from {}", response.deleted(), categoryId, indices);
+    }
+
+    private void reindexSurvivors(Long jobId, Long categoryId) {
+        long afterId = 0;
+        while (true) {
+            heartbeat(jobId);
+            List<Long> ids = productRepository.findIdsInCategoryAfter(categoryId, afterId,
+                    PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> productIndexOutbox.enqueueUpserts(ids));
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private void heartbeat(Long jobId) {
+        Integer touched = transactionTemplate.execute(status -> categoryDeleteJobRepository
+                .touchIfRunning(jobId, LocalDateTime.now(), CategoryDeleteStatus.RUNNING));
+        if (touched == null || touched == 0) {
+            throw new TakenOverException();
+        }
+    }
+
+    private void checkpoint(Long jobId, long lastProductId, int deleted) {
+        transactionTemplate.executeWithoutResult(status -> {
+            CategoryDeleteJob job = findRunning(jobId);
+            job.setLastProductId(lastProductId);
+            job.setDeletedCount(job.getDeletedCount() + deleted);
+            job.setUpdatedAt(LocalDateTime.now());
+            categoryDeleteJobRepository.save(job);
+        });
+    }
+
+    private void complete(Long jobId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            CategoryDeleteJob job = findRunning(jobId);
+            LocalDateTime now = LocalDateTime.now();
+            job.setStatus(CategoryDeleteStatus.COMPLETED);
+            job.setUpdatedAt(now);
+            job.setCompletedAt(now);
+            categoryDeleteJobRepository.save(job);
+            logger.info("Category delete job {} completed, {} products deleted", jobId, job.getDeletedCount());
+        });
+    }
+
+    private CategoryDeleteJob findRunning(Long jobId) {
+        CategoryDeleteJob job = categoryDeleteJobRepository.findById(jobId).orElseThrow();
+        if (job.getStatus() != CategoryDeleteStatus.RUNNING) {
+            throw new TakenOverException();
+        }
+        return job;
+    }
+
+    private void fail(Long jobId, Exception cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                CategoryDeleteJob job = categoryDeleteJobRepository.findById(jobId).orElseThrow();
+                // Already failed as stale; the replacement job's state is not this run's to overwrite
+                if (job.getStatus() != CategoryDeleteStatus.RUNNING) {
+                    return;
+                }
+                String message = String.valueOf(cause.getMessage());
+                job.setStatus(CategoryDeleteStatus.FAILED);
+                job.setUpdatedAt(LocalDateTime.now());
+                job.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                categoryDeleteJobRepository.save(job);
+            });
+        } catch (Exception e) {
+            logger.error("Failed to record failure of category delete job {}", jobId, e);
+        }
+    }
+
+    private static class TakenOverException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,9 @@
+package com.services.productservice.services;
+
+import com.services.productservice.dtos.CategoryDeleteJobResponse;
+
+public interface CategoryDeleteJobService {
+    CategoryDeleteJobResponse deleteAllProducts(Long categoryId);
+
+    CategoryDeleteJobResponse getJob(Long jobId);
+}
@@ -0,0 +1,95 @@
+package com.services.productservice.services;
+
+import com.services.productservice.dtos.CategoryDeleteJobResponse;
+import com.services.productservice.exceptions.NotFoundException;
+import com.services.productservice.models.CategoryDeleteJob;
+import com.services.productservice.models.CategoryDeleteStatus;
+import com.services.productservice.repositories.CategoryDeleteJobRepository;
+import com.services.productservice.repositories.CategoryRepository;
+import com.services.productservice.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class CategoryDeleteJobServiceImpl implements CategoryDeleteJobService {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final CategoryDeleteJobRepository categoryDeleteJobRepository;
+    private final CategoryDeleteJobRunner categoryDeleteJobRunner;
+    private final PlatformTransactionManager transactionManager;
+
+    // A RUNNING job that has not checkpointed or heartbeated for this long is assumed to belong to a dead instance
+    @Value("${product.category-delete.stale-after-seconds:300}")
+    private long staleAfterSeconds;
+
+    @Override
+    public CategoryDeleteJobResponse deleteAllProducts(Long categoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new NotFoundException("Category not found");
+        }
+        // Deleting twice is harmless, so a repeated request just reports the job in flight
+        CategoryDeleteJob running = categoryDeleteJobRepository
+                .findFirstByCategoryIdAndStatusOrderByIdDesc(categoryId, CategoryDeleteStatus.RUNNING)
+                .orElse(null);
+        if (running != null && (!isStale(running) || !failStale(running))) {
+            return mapToResponse(categoryDeleteJobRepository.findById(running.getId()).orElse(running));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        CategoryDeleteJob job = categoryDeleteJobRepository.save(CategoryDeleteJob.builder()
+                .categoryId(categoryId)
+                .status(CategoryDeleteStatus.RUNNING)
+                .totalCount(productRepository.countByCategoryId(categoryId))
+                .deletedCount(0)
+                .lastProductId(0)
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+        categoryDeleteJobRunner.run(job.getId());
+        return mapToResponse(job);
+    }
+
+    @Override
+    public CategoryDeleteJobResponse getJob(Long jobId) {
+        return mapToResponse(categoryDeleteJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Category delete job not found")));
+    }
+
+    /**
+     * Fails a stalled job so its runner stops at the next heartbeat, unless it
+     * heartbeated since it was read. Returns whether the job was failed.
+     */
+    private boolean failStale(CategoryDeleteJob job) {
+        Integer failed = new TransactionTemplate(transactionManager).execute(status -> categoryDeleteJobRepository
+                .failIfUnchanged(job.getId(), job.getUpdatedAt(), LocalDateTime.now(),
+                        "Stopped checkpointing; replaced", CategoryDeleteStatus.RUNNING, CategoryDeleteStatus.FAILED));
+        return failed != null && failed > 0;
+    }
+
+    private boolean isStale(CategoryDeleteJob job) {
+        return job.getUpdatedAt() == null
+                || job.getUpdatedAt().isBefore(LocalDateTime.now().minusSeconds(staleAfterSeconds));
+    }
+
+    private CategoryDeleteJobResponse mapToResponse(CategoryDeleteJob job) {
+        CategoryDeleteJobResponse response = new CategoryDeleteJobResponse();
+        response.setId(job.getId());
+        response.setCategoryId(job.getCategoryId());
+        response.setStatus(job.getStatus().name());
+        response.setTotalCount(job.getTotalCount());
+        response.setDeletedCount(job.getDeletedCount());
+        response.setStartedAt(job.getStartedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        response.setError(job.getError());
+        return response;
+    }
+}
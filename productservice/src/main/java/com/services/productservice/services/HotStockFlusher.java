@@ -0,0 +1,44 @@
+package com.services.productservice.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Write-behind for hot SKUs: applies pending Redis decrements to MySQL on a
+ * short fixed delay and periodically compares both sides.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "product.hot-stock.enabled", havingValue = "true")
+public class HotStockFlusher {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotStockFlusher.class);
+
+    private final HotStockService hotStockService;
+
+    @Scheduled(fixedDelayString = "${product.hot-stock.flush-interval-ms:1000}")
+    public void flush() {
+        try {
+            int flushed = hotStockService.flush();
+            if (flushed > 0) {
+                logger.debug("Flushed hot stock for {} products", flushed);
+            }
+        } catch (Exception e) {
+            logger.error("Hot stock flush failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${product.hot-stock.check-interval-ms:60000}")
+    public void checkConsistency() {
+        try {
+            hotStockService.checkAll();
+        } catch (Exception e) {
+            logger.error("Hot stock consistency check failed", e);
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.services.productservice.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.services.productservice.dtos.HotStockStatus;
+import com.services.productservice.exceptions.InsufficientStockException;
+import com.services.productservice.exceptions.ProductNotFoundException;
+import com.services.productservice.models.Product;
+import com.services.productservice.repositories.InventoryHoldRepository;
+import com.services.productservice.repositories.ProductRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the available count of designated hot SKUs in Redis so flash-sale
+ * decrements never touch the MySQL row. Decrements run as a Lua
+ * check-and-decrement and are recorded in a pending hash that the flusher
+ * applies to {@code products} in batches. A batch stays in Redis until its
+ * MySQL transaction has committed, so decrements are applied at least once.
+ *
+ * <p>For a hot SKU the Redis count always equals on-hand stock minus every
+ * hold row minus pending decrements. Reservations take from the count when
+ * they are placed and give back on release or expiry; a commit moves stock
+ * from holds to {@code products} and leaves the count alone.
+ */
+@Service
+@ConditionalOnProperty(name = "product.hot-stock.enabled", havingValue = "true")
+public class HotStockService {
+
+    /** Returned by {@link #decrement} when the SKU has too little stock. */
+    public static final long INSUFFICIENT = -1;
+    /** Returned by {@link #decrement} when the SKU is not hot. */
+    public static final long NOT_HOT = -2;
+
+    private static final String COUNT_KEY_PREFIX = "hot-stock:sku:";
+    private static final String SKUS_KEY = "hot-stock:skus";
+    private static final String PENDING_KEY = "hot-stock:pending";
+    private static final String IN_FLIGHT_KEY_PREFIX = "hot-stock:in-flight:";
+    // Batches being flushed, scored by when they were claimed
+    private static final String IN_FLIGHT_KEY = "hot-stock:in-flight";
+    // A batch claimed longer ago belongs to a flusher that died; well above the flush transaction timeout
+    private static final long CLAIM_TIMEOUT_MS = 60_000;
+    private static final int FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final RedisScript<Long> DECREMENT = new DefaultRedisScript<>(
+            "local available = redis.call('GET', KEYS[1]) "
+                    + "if not available then return -2 end "
+                    + "local quantity = tonumber(ARGV[1]) "
+                    + "if tonumber(available) < quantity then return -1 end "
+                    + "redis.call('HINCRBY', KEYS[2], ARGV[2], quantity) "
+                    + "return redis.call('DECRBY', KEYS[1], quantity)",
+            Long.class);
+
+    // All-or-nothing take for a reservation: 0 on success, i when item i is short,
+    // -i when item i stopped being hot
+    private static final RedisScript<Long> TAKE = new DefaultRedisScript<>(
+            "for i, key in ipairs(KEYS) do "
+                    + "local available = redis.call('GET', key) "
+                    + "if not available then return -i end "
+                    + "if tonumber(available) < tonumber(ARGV[i]) then return i end "
+                    + "end "
+                    + "for i, key in ipairs(KEYS) do redis.call('DECRBY', key, ARGV[i]) end "
+                    + "return 0",
+            Long.class);
+
+    // Gives stock back only to SKUs that are still hot; a demoted SKU's stock lives in MySQL again
+    private static final RedisScript<Long> RESTORE = new DefaultRedisScript<>(
+            "for i, key in ipairs(KEYS) do "
+                    + "if redis.call('EXISTS', key) == 1 then redis.call('INCRBY', key, ARGV[i]) end "
+                    + "end "
+                    + "return 0",
+            Long.class);
+
+    private static final RedisScript<Long> PROMOTE = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1]) "
+                    + "redis.call('SADD', KEYS[2], ARGV[2]) "
+                    + "return 1",
+            Long.class);
+
+    // Removes the SKU and hands back its unflushed decrements in one step, so no
+    // decrement can slip in between the flush and the removal
+    private static final RedisScript<Long> DEMOTE = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) "
+                    + "redis.call('SREM', KEYS[2], ARGV[1]) "
+                    + "local pending = redis.call('HGET', KEYS[3], ARGV[1]) "
+                    + "redis.call('HDEL', KEYS[3], ARGV[1]) "
+                    + "return tonumber(pending) or 0",
+            Long.class);
+
+    // Claims a batch to flush: a stale in-flight batch first, otherwise the pending hash
+    // renamed to a new in-flight key. Returns the batch key followed by its entries.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_BATCH = new DefaultRedisScript<>(
+            "local batch = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[2], 'LIMIT', 0, 1)[1] "
+                    + "if not batch then "
+                    + "if redis.call('EXISTS', KEYS[1]) == 0 then return {} end "
+                    + "batch = ARGV[3] "
+                    + "redis.call('RENAME', KEYS[1], batch) "
+                    + "end "
+                    + "redis.call('ZADD', KEYS[2], ARGV[1], batch) "
+                    + "local result = redis.call('HGETALL', batch) "
+                    + "table.insert(result, 1, batch) "
+                    + "return result",
+            List.class);
+
+    private static final RedisScript<Long> COMPLETE_BATCH = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) "
+                    + "return redis.call('ZREM', KEYS[2], KEYS[1])",
+            Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SNAPSHOT = new DefaultRedisScript<>(
+            "return {redis.call('GET', KEYS[1]) or false, redis.call('HGET', KEYS[2], ARGV[1]) or '0'}",
+            List.class);
+
+    private static final Logger logger = LoggerFactory.getLogger(HotStockService.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductRepository productRepository;
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final RedisTemplate<Long, Object> redisTemplate;
+    private final CacheService cacheService;
+    private final ProductChangeOutbox productChangeOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter hotDecrements;
+    private final Counter rejectedDecrements;
+    private final Counter inconsistentChecks;
+
+    public HotStockService(StringRedisTemplate stringRedisTemplate,
+            ProductRepository productRepository,
+            InventoryHoldRepository inventoryHoldRepository,
+            RedisTemplate<Long, Object> redisTemplate,
+            CacheService cacheService,
+            ProductChangeOutbox productChangeOutbox,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.productRepository = productRepository;
+        this.inventoryHoldRepository = inventoryHoldRepository;
+        this.redisTemplate = redisTemplate;
+        this.cacheService = cacheService;
+        this.productChangeOutbox = productChangeOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout(FLUSH_TIMEOUT_SECONDS);
+        this.hotDecrements = Counter.builder("product.hot-stock.decrements")
+                .tag("result", "applied")
+                .register(meterRegistry);
+        this.rejectedDecrements = Counter.builder("product.hot-stock.decrements")
+                .tag("result", "insufficient")
+                .register(meterRegistry);
+        this.inconsistentChecks = Counter.builder("product.hot-stock.inconsistent")
+                .description("Consistency checks where Redis and MySQL disagreed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Atomically checks and decrements a hot SKU. Returns the remaining count,
+     * {@link #INSUFFICIENT}, or {@link #NOT_HOT} when the caller should fall
+     * back to the database.
+     */
+    public long decrement(Long productId, int quantity) {
+        Long result = stringRedisTemplate.execute(DECREMENT,
+                List.of(countKey(productId), PENDING_KEY), String.valueOf(quantity), productId.toString());
+        long remaining = result != null ? result : NOT_HOT;
+        if (remaining >= 0) {
+            hotDecrements.increment();
+        } else if (remaining == INSUFFICIENT) {
+            rejectedDecrements.increment();
+        }
+        return remaining;
+    }
+
+    /** Current available count, or null when the SKU is not hot. */
+    public Integer available(Long productId) {
+        String value = stringRedisTemplate.opsForValue().get(countKey(productId));
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    public Set<Long> hotProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Set.of();
+        }
+        Map<Object, Boolean> members = stringRedisTemplate.opsForSet()
+                .isMember(SKUS_KEY, productIds.stream().map(String::valueOf).toArray());
+        if (members == null) {
+            return Set.of();
+        }
+        return productIds.stream()
+                .filter(id -> Boolean.TRUE.equals(members.get(id.toString())))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public Set<Long> hotProductIds() {
+        Set<String> members = stringRedisTemplate.opsForSet().members(SKUS_KEY);
+        if (members == null) {
+            return Set.of();
+        }
+        return members.stream().map(Long::valueOf).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Takes stock for a reservation from the Redis counts, all or nothing. If the
+     * surrounding transaction rolls back the stock is given back.
+     */
+    public void take(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(quantities.keySet());
+        Long result = stringRedisTemplate.execute(TAKE, countKeys(ids), quantityArgs(ids, quantities));
+        long code = result != null ? result : 0;
+        if (code != 0) {
+            Long productId = ids.get((int) Math.abs(code) - 1);
+            Integer available = available(productId);
+            throw new InsufficientStockException(productId, quantities.get(productId),
+                    available != null ? available : 0);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(quantities);
+                    }
+                }
+            });
+        }
+    }
+
+    /** Gives stock back to whichever of the SKUs are still hot. */
+    public void restore(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(quantities.keySet());
+        try {
+            stringRedisTemplate.execute(RESTORE, countKeys(ids), quantityArgs(ids, quantities));
+        } catch (Exception e) {
+            logger.error("Failed to restore hot stock for products {}", ids, e);
+        }
+    }
+
+    /** Restores once the surrounding transaction has released the holds. */
+    public void restoreAfterCommit(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            restore(quantities);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                restore(quantities);
+            }
+        });
+    }
+
+    /**
+     * Moves a hot SKU's count by the same amount as an edit to its MySQL stock,
+     * so the two stay consistent. A decrease is taken straight away and given
+     * back if the edit rolls back; one larger than the count is rejected, as
+     * that stock is already sold or held. An increase is added once it commits.
+     */
+    public void adjust(Long productId, int delta) {
+        if (delta > 0) {
+            restoreAfterCommit(Map.of(productId, delta));
+        } else if (delta < 0 && available(productId) != null) {
+            take(Map.of(productId, -delta));
+        }
+    }
+
+    /**
+     * Makes the SKU hot, seeding the Redis count from MySQL while the product
+     * row is locked. Promoting an already hot SKU flushes it and reseeds, which
+     * also repairs any drift the consistency check found.
+     */
+    @Transactional
+    public HotStockStatus promote(Long productId) {
+        lockProduct(productId);
+        long pending = demoteInRedis(productId);
+        if (pending != 0) {
+            productRepository.incrementStock(productId, (int) -pending);
+            productChangeOutbox.enqueueStockChanges(List.of(productId));
+        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
+        int onHand = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+        long available = Math.max(0, onHand - inventoryHoldRepository.sumHeldQuantity(productId));
+        stringRedisTemplate.execute(PROMOTE, List.of(countKey(productId), SKUS_KEY),
+                String.valueOf(available), productId.toString());
+        cacheService.evictProductAfterCommit(redisTemplate, productId);
+        logger.info("Promoted product {} to hot stock with {} available", productId, available);
+        return check(productId);
+    }
+
+    /** Returns the SKU to MySQL, applying its unflushed decrements first. */
+    @Transactional
+    public void demote(Long productId) {
+        lockProduct(productId);
+        long pending = demoteInRedis(productId);
+        if (pending != 0) {
+            productRepository.incrementStock(productId, (int) -pending);
+            productChangeOutbox.enqueueStockChanges(List.of(productId));
+        }
+        cacheService.evictProductAfterCommit(redisTemplate, productId);
+        logger.info("Demoted product {} from hot stock, flushed {} pending", productId, pending);
+    }
+
+    /**
+     * Applies a batch of pending decrements to MySQL in one transaction. The
+     * pending hash is renamed to an in-flight key, so new decrements start a
+     * fresh hash, and the in-flight key is only deleted once the transaction
+     * has committed. A batch whose database write failed, or whose flusher died
+     * before finishing, is picked up again by a later run on any instance.
+     */
+    public int flush() {
+        long now = System.currentTimeMillis();
+        @SuppressWarnings("unchecked")
+        List<Object> claimed = stringRedisTemplate.execute(CLAIM_BATCH, List.of(PENDING_KEY, IN_FLIGHT_KEY),
+                String.valueOf(now), String.valueOf(now - CLAIM_TIMEOUT_MS),
+                IN_FLIGHT_KEY_PREFIX + UUID.randomUUID());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        String batch = claimed.get(0).toString();
+        Map<Long, Long> deltas = new HashMap<>();
+        for (int i = 1; i + 1 < claimed.size(); i += 2) {
+            deltas.put(Long.valueOf(claimed.get(i).toString()), Long.valueOf(claimed.get(i + 1).toString()));
+        }
+
+        if (!deltas.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    deltas.forEach((productId, delta) -> productRepository.incrementStock(productId, (int) -delta));
+                    // One change per product and flush, not one per hot decrement
+                    productChangeOutbox.enqueueStockChanges(deltas.keySet());
+                });
+            } catch (Exception e) {
+                logger.error("Failed to flush hot stock for {} products, keeping batch {} for retry", deltas.size(),
+                        batch, e);
+                // Mark the claim stale so the next run retries it straight away
+                stringRedisTemplate.opsForZSet().add(IN_FLIGHT_KEY, batch, 0);
+                return 0;
+            }
+        }
+        stringRedisTemplate.execute(COMPLETE_BATCH, List.of(batch, IN_FLIGHT_KEY));
+        deltas.keySet().forEach(productId -> cacheService.evictProduct(redisTemplate, productId));
+        return deltas.size();
+    }
+
+    /**
+     * Compares the Redis count plus pending decrements against MySQL stock
+     * minus holds. Operations in flight between the two reads can show as a
+     * transient difference, so callers should only act on repeated drift.
+     * Not read-only, so MySQL stock comes from the primary rather than a
+     * lagging replica.
+     */
+    @Transactional
+    public HotStockStatus check(Long productId) {
+        @SuppressWarnings("unchecked")
+        List<Object> snapshot = stringRedisTemplate.execute(SNAPSHOT,
+                List.of(countKey(productId), PENDING_KEY), productId.toString());
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
+
+        HotStockStatus status = new HotStockStatus();
+        status.setProductId(productId);
+        status.setDatabaseStock(product.getStockQuantity() != null ? product.getStockQuantity() : 0);
+        status.setHeldQuantity(inventoryHoldRepository.sumHeldQuantity(productId));
+        Object count = snapshot != null && !snapshot.isEmpty() ? snapshot.get(0) : null;
+        if (count == null) {
+            status.setHot(false);
+            status.setConsistent(true);
+            return status;
+        }
+        status.setHot(true);
+        status.setRedisAvailable(Long.parseLong(count.toString()));
+        status.setPendingDecrements(snapshot.size() > 1 ? Long.parseLong(snapshot.get(1).toString()) : 0);
+        long expected = status.getDatabaseStock() - status.getHeldQuantity();
+        status.setDrift(status.getRedisAvailable() + status.getPendingDecrements() - expected);
+        status.setConsistent(status.getDrift() == 0);
+        return status;
+    }
+
+    public List<HotStockStatus> checkAll() {
+        List<HotStockStatus> results = new ArrayList<>();
+        for (Long productId : hotProductIds()) {
+            try {
+                HotStockStatus status = check(productId);
+                if (!status.isConsistent()) {
+                    inconsistentChecks.increment();
+                    logger.warn("Hot stock drift for product {}: redis={} pending={} db={} held={}", productId,
+                            status.getRedisAvailable(), status.getPendingDecrements(), status.getDatabaseStock(),
+                            status.getHeldQuantity());
+                }
+                results.add(status);
+            } catch (ProductNotFoundException e) {
+                logger.warn("Hot SKU {} no longer exists, demoting", productId);
+                demoteInRedis(productId);
+            }
+        }
+        return results;
+    }
+
+    private void lockProduct(Long productId) {
+        if (productRepository.findAllByIdForUpdate(List.of(productId)).isEmpty()) {
+            throw new ProductNotFoundException("Product not found with ID: " + productId);
+        }
+    }
+
+    private long demoteInRedis(Long productId) {
+        Long pending = stringRedisTemplate.execute(DEMOTE, List.of(countKey(productId), SKUS_KEY, PENDING_KEY),
+                productId.toString());
+        return pending != null ? pending : 0;
+    }
+
+    private static String countKey(Long productId) {
+        return COUNT_KEY_PREFIX + productId;
+    }
+
+    private static List<String> countKeys(List<Long> productIds) {
+        return productIds.stream().map(HotStockService::countKey).collect(Collectors.toList());
+    }
+
+    private static Object[] quantityArgs(List<Long> productIds, Map<Long, Integer> quantities) {
+        return productIds.stream().map(id -> String.valueOf(quantities.get(id))).toArray();
+    }
+}
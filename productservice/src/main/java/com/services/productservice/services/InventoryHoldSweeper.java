@@ -0,0 +1,91 @@
+package com.services.productservice.services;
+
+import com.services.productservice.models.ReservationStatus;
+import com.services.productservice.repositories.InventoryHoldRepository;
+import com.services.productservice.repositories.StockReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Expires reservations whose holds have lapsed and deletes the hold rows.
+ * Expired holds already stop counting against available stock at read time,
+ * so the sweep only keeps the holds table small and the reservation status
+ * accurate. Each batch runs in its own short transaction.
+ */
+@Component
+public class InventoryHoldSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryHoldSweeper.class);
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final ObjectProvider<HotStockService> hotStockService;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expiredReservations;
+    private final int batchSize;
+
+    public InventoryHoldSweeper(InventoryHoldRepository inventoryHoldRepository,
+            StockReservationRepository stockReservationRepository,
+            ObjectProvider<HotStockService> hotStockService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${product.holds.sweep-batch-size:500}") int batchSize) {
+        this.inventoryHoldRepository = inventoryHoldRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.hotStockService = hotStockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiredReservations = Counter.builder("product.holds.expired")
+                .description("Reservations expired by the hold sweeper")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${product.holds.sweep-interval-ms:30000}")
+    public void sweep() {
+        int total = 0;
+        int swept;
+        do {
+            Integer result = transactionTemplate.execute(status -> sweepBatch(LocalDateTime.now()));
+            swept = result != null ? result : 0;
+            total += swept;
+        } while (swept == batchSize);
+
+        if (total > 0) {
+            logger.info("Released holds for {} expired reservations", total);
+        }
+    }
+
+    private int sweepBatch(LocalDateTime now) {
+        List<String> ids = inventoryHoldRepository.findExpiredReservationIds(now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int expired = stockReservationRepository.markExpired(ids, now, ReservationStatus.RESERVED,
+                ReservationStatus.EXPIRED);
+        HotStockService hotStock = hotStockService.getIfAvailable();
+        if (hotStock != null) {
+            // Hot SKU counts took the stock when the hold was placed, so hand it back
+            Map<Long, Integer> released = inventoryHoldRepository.sumHeldQuantitiesByReservationIds(ids).stream()
+                    .collect(Collectors.toMap(InventoryHoldRepository.HeldQuantity::getProductId,
+                            held -> held.getQuantity().intValue()));
+            hotStock.restoreAfterCommit(released);
+        }
+        inventoryHoldRepository.deleteByReservationIds(ids);
+        expiredReservations.increment(expired);
+        return ids.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.services.productservice.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Drops near cache entries when any replica publishes a product change on
+ * {@link CacheService#INVALIDATION_CHANNEL}.
+ */
+public class ProductCacheInvalidationListener implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCacheInvalidationListener.class);
+
+    private final ProductNearCache nearCache;
+    private final RedisTemplate<Long, Object> redisTemplate;
+
+    public ProductCacheInvalidationListener(ProductNearCache nearCache, RedisTemplate<Long, Object> redisTemplate) {
+        this.nearCache = nearCache;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object payload;
+        try {
+            payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        } catch (Exception e) {
+            logger.warn("Unreadable cache invalidation message, clearing near cache", e);
+            nearCache.invalidateAll();
+            return;
+        }
+        if (payload instanceof Number id) {
+            nearCache.invalidate(id.longValue());
+        } else {
+            nearCache.invalidateAll();
+        }
+    }
+}
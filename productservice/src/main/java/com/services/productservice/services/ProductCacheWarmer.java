@@ -0,0 +1,153 @@
+package com.services.productservice.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.services.productservice.models.ReservationStatus;
+import com.services.productservice.repositories.StockReservationRepository;
+
+/**
+ * Fills the product cache before the pod takes traffic, so a rollout does
+ * not send its first wave of reads to MySQL. Warms the configured ids and
+ * the best sellers of the last few days, in batches loaded with
+ * {@code findAllById} and written back with one Redis pipeline each.
+ *
+ * <p>Runs as an application runner, which Spring Boot finishes before it
+ * marks the application ready; the health indicator keeps the readiness
+ * group out of service meanwhile. Warm-up stops at the time budget, and a
+ * failed or partial warm-up still lets the pod become ready. When disabled
+ * the bean stays, reporting up, so the readiness group can always list it.
+ */
+@Component
+public class ProductCacheWarmer implements ApplicationRunner, HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCacheWarmer.class);
+
+    private final ProductService productService;
+    private final StockReservationRepository stockReservationRepository;
+    private final boolean enabled;
+    private final List<Long> configuredIds;
+    private final int topN;
+    private final int lookbackDays;
+    private final int batchSize;
+    private final int concurrency;
+    private final long timeBudgetMs;
+
+    private volatile boolean finished;
+    private volatile int requested;
+    private volatile int warmed;
+    private volatile boolean timedOut;
+    private volatile long elapsedMs;
+
+    public ProductCacheWarmer(ProductService productService,
+            StockReservationRepository stockReservationRepository,
+            @Value("${product.cache.warmup.enabled:true}") boolean enabled,
+            @Value("${product.cache.warmup.ids:}") List<Long> configuredIds,
+            @Value("${product.cache.warmup.top-n:1000}") int topN,
+            @Value("${product.cache.warmup.lookback-days:7}") int lookbackDays,
+            @Value("${product.cache.warmup.batch-size:200}") int batchSize,
+            @Value("${product.cache.warmup.concurrency:4}") int concurrency,
+            @Value("${product.cache.warmup.time-budget-ms:20000}") long timeBudgetMs) {
+        this.productService = productService;
+        this.stockReservationRepository = stockReservationRepository;
+        this.enabled = enabled;
+        this.configuredIds = configuredIds;
+        this.topN = topN;
+        this.lookbackDays = lookbackDays;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.timeBudgetMs = timeBudgetMs;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            finished = true;
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            warm(started + timeBudgetMs);
+        } catch (Exception e) {
+            logger.error("Product cache warm-up failed", e);
+        } finally {
+            elapsedMs = System.currentTimeMillis() - started;
+            finished = true;
+            logger.info("Product cache warm-up cached {} of {} products in {} ms{}", warmed, requested, elapsedMs,
+                    timedOut ? " before running out of time" : "");
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = finished ? Health.up() : Health.outOfService();
+        return health.withDetail("requested", requested)
+                .withDetail("warmed", warmed)
+                .withDetail("timedOut", timedOut)
+                .withDetail("elapsedMs", elapsedMs)
+                .build();
+    }
+
+    private void warm(long deadline) throws InterruptedException {
+        List<Long> ids = idsToWarm();
+        requested = ids.size();
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Callable<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            // Already cached ids are skipped; the rest are loaded and written back in one pipeline
+            batches.add(() -> productService.getProductsByIds(batch).size());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+        try {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            int cached = 0;
+            for (Future<Integer> result : executor.invokeAll(batches, remaining, TimeUnit.MILLISECONDS)) {
+                try {
+                    cached += result.get();
+                } catch (CancellationException e) {
+                    timedOut = true;
+                } catch (ExecutionException e) {
+                    logger.warn("Product cache warm-up batch failed", e.getCause());
+                }
+            }
+            warmed = cached;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Configured ids first, then the best sellers, without duplicates. */
+    private List<Long> idsToWarm() {
+        Set<Long> ids = new LinkedHashSet<>(configuredIds);
+        if (topN > 0) {
+            ids.addAll(stockReservationRepository.findTopProductIdsByQuantity(ReservationStatus.COMMITTED,
+                    LocalDateTime.now().minusDays(lookbackDays), PageRequest.of(0, topN)));
+        }
+        return new ArrayList<>(ids);
+    }
+}
@@ -0,0 +1,95 @@
+package com.services.productservice.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.services.productservice.models.ProductChangeOutboxEvent;
+import com.services.productservice.repositories.ProductChangeOutboxRepository;
+
+/**
+ * Records {@code ProductChanged} messages in {@code product_change_outbox}
+ * for {@link ProductChangeRelay}. Must run inside the transaction that
+ * changes the product so both commit or neither does. A delete records no
+ * fields; the relay publishes any product whose row is gone as deleted.
+ * Does nothing when change events are disabled, so the table cannot fill
+ * up unread.
+ *
+ * <p>Creates are not recorded, whether from createProduct or a bulk
+ * import. Consumers only patch products they already copied, which they
+ * fetched through the API after the create, and the first change to a new
+ * product publishes its full current state anyway.
+ */
+@Component
+public class ProductChangeOutbox {
+
+    public static final String STOCK_QUANTITY = "stockQuantity";
+
+    private static final String INSERT_CHANGE = "INSERT INTO product_change_outbox "
+            + "(product_id, changed_fields, created_at, next_attempt_at, attempts) VALUES (?, ?, ?, ?, 0)";
+
+    private final ProductChangeOutboxRepository productChangeOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public ProductChangeOutbox(ProductChangeOutboxRepository productChangeOutboxRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${product.events.enabled:false}") boolean enabled) {
+        this.productChangeOutboxRepository = productChangeOutboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueChange(Long productId, Collection<String> changedFields) {
+        if (!enabled || changedFields.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        productChangeOutboxRepository.save(ProductChangeOutboxEvent.builder()
+                .productId(productId)
+                .changedFields(String.join(",", changedFields))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .attempts(0)
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueStockChanges(Collection<Long> productIds) {
+        insertAll(productIds, STOCK_QUANTITY);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(Long productId) {
+        insertAll(List.of(productId), "");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDeletes(Collection<Long> productIds) {
+        insertAll(productIds, "");
+    }
+
+    // One batched INSERT rather than a persist per row, for the bulk paths
+    private void insertAll(Collection<Long> productIds, String changedFields) {
+        if (!enabled || productIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = new ArrayList<>(productIds);
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, ids, ids.size(), (statement, productId) -> {
+            statement.setLong(1, productId);
+            statement.setString(2, changedFields);
+            statement.setTimestamp(3, now);
+            statement.setTimestamp(4, now);
+        });
+    }
+}
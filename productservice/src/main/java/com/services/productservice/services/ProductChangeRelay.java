@@ -0,0 +1,203 @@
+package com.services.productservice.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.common.dtos.ProductChangedMessage;
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ProductChangeOutboxEvent;
+import com.services.productservice.repositories.ProductChangeOutboxRepository;
+import com.services.productservice.repositories.ProductRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drains {@code product_change_outbox} into the compacted
+ * {@code product-changed} topic. Rows for the same product are collapsed
+ * into one record, keyed by product id, carrying the product's current
+ * version and the union of the changed fields; a product whose row is gone
+ * is published as deleted. Replaying a record is therefore always safe.
+ *
+ * <p>A deleted record is followed by a tombstone, a null value for the same
+ * key, so compaction drops the product from the topic once the tombstone is
+ * older than the topic's {@code delete.retention.ms}. A consumer that falls
+ * further behind than that misses the delete and keeps its copy until it
+ * next fetches the product.
+ *
+ * <p>Rows are claimed with SKIP LOCKED and deleted once the broker has
+ * acknowledged their record. Failed rows are rescheduled with exponential
+ * backoff.
+ */
+@Component
+@ConditionalOnProperty(name = "product.events.enabled", havingValue = "true")
+public class ProductChangeRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeRelay.class);
+
+    private final ProductChangeOutboxRepository productChangeOutboxRepository;
+    private final ProductRepository productRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String topic;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+
+    private final Counter published;
+    private final Counter failed;
+
+    public ProductChangeRelay(ProductChangeOutboxRepository productChangeOutboxRepository,
+            ProductRepository productRepository,
+            KafkaTemplate<String, String> kafkaTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${product.events.topic:product-changed}") String topic,
+            @Value("${product.events.relay.batch-size:500}") int batchSize,
+            @Value("${product.events.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${product.events.relay.backoff-initial-ms:1000}") long backoffInitialMs,
+            @Value("${product.events.relay.backoff-max-ms:300000}") long backoffMaxMs) {
+        this.productChangeOutboxRepository = productChangeOutboxRepository;
+        this.productRepository = productRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+
+        this.published = Counter.builder("product.events.relayed").tag("result", "published").register(meterRegistry);
+        this.failed = Counter.builder("product.events.relayed").tag("result", "failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${product.events.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            int claimed;
+            do {
+                Integer result = transactionTemplate.execute(status -> relayBatch());
+                claimed = result != null ? result : 0;
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            logger.error("Product change relay run failed", e);
+        }
+    }
+
+    /** Publishes one batch and returns how many rows it claimed. */
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductChangeOutboxEvent> events = productChangeOutboxRepository.claimReady(now,
+                PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<ProductChangeOutboxEvent>> byProduct = events.stream()
+                .collect(Collectors.groupingBy(ProductChangeOutboxEvent::getProductId, LinkedHashMap::new,
+                        Collectors.toList()));
+        Map<Long, Product> products = productRepository.findAllById(byProduct.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Long, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        Map<Long, String> errors = new LinkedHashMap<>();
+        byProduct.forEach((productId, rows) -> {
+            try {
+                Product product = products.get(productId);
+                String key = productId.toString();
+                String value = objectMapper.writeValueAsString(toMessage(productId, rows, product));
+                CompletableFuture<SendResult<String, String>> send = kafkaTemplate.send(topic, key, value);
+                if (product == null) {
+                    // Same key and partition, so consumers see the deleted record first
+                    sends.put(productId, CompletableFuture.allOf(send, kafkaTemplate.send(topic, key, null)));
+                } else {
+                    sends.put(productId, send);
+                }
+            } catch (Exception e) {
+                errors.put(productId, e.getMessage());
+            }
+        });
+        // Records are sent together and awaited together, not one round trip each
+        kafkaTemplate.flush();
+        long deadline = System.currentTimeMillis() + sendTimeoutMs;
+        sends.forEach((productId, send) -> {
+            try {
+                send.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                errors.put(productId, String.valueOf(e.getMessage()));
+            }
+        });
+
+        List<ProductChangeOutboxEvent> done = new ArrayList<>();
+        for (ProductChangeOutboxEvent event : events) {
+            String error = errors.get(event.getProductId());
+            if (error == null) {
+                done.add(event);
+            } else {
+                scheduleRetry(event, now, error);
+            }
+        }
+        productChangeOutboxRepository.deleteAllInBatch(done);
+        published.increment(done.size());
+        if (done.size() < events.size()) {
+            failed.increment(events.size() - done.size());
+            logger.warn("Failed to publish {} of {} product changes", events.size() - done.size(), events.size());
+        }
+        return events.size();
+    }
+
+    private static ProductChangedMessage toMessage(Long productId, List<ProductChangeOutboxEvent> rows,
+            Product product) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (ProductChangeOutboxEvent row : rows) {
+            Arrays.stream(row.getChangedFields().split(","))
+                    .filter(field -> !field.isEmpty())
+                    .forEach(changed::add);
+        }
+        if (product == null) {
+            return ProductChangedMessage.builder().id(productId).deleted(true).build();
+        }
+        return ProductChangedMessage.builder()
+                .id(productId)
+                .version(product.getVersion())
+                .changed(new ArrayList<>(changed))
+                .name(product.getName())
+                .price(product.getPrice())
+                .stockQuantity(product.getStockQuantity())
+                .build();
+    }
+
+    private void scheduleRetry(ProductChangeOutboxEvent event, LocalDateTime now, String error) {
+        int attempts = event.getAttempts() + 1;
+        long delayMs = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 20));
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(now.plus(Duration.ofMillis(delayMs)));
+        event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+    }
+}
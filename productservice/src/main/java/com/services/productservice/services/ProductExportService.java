@@ -0,0 +1,8 @@
+package com.services.productservice.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+    long exportProducts(OutputStream out) throws IOException;
+}
@@ -0,0 +1,112 @@
+package com.services.productservice.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.services.common.dtos.ProductResponse;
+
+/**
+ * Writes the whole catalog as NDJSON, one {@link ProductResponse} per line,
+ * straight from a forward-only JDBC cursor. Rows are fetched
+ * {@code product.export.fetch-size} at a time and each one is written and
+ * dropped before the next is read, so heap use does not grow with the
+ * catalog.
+ *
+ * <p>Connector/J only honours the fetch size with {@code useCursorFetch},
+ * which would turn every prepared statement in the pool into a server-side
+ * cursor. The export therefore opens its own unpooled connection with the
+ * property set, against {@code product.export.datasource.url} if given
+ * (a replica, say) or the primary otherwise. The export is one SELECT,
+ * which InnoDB already reads from a single snapshot, so it needs no
+ * transaction.
+ */
+@Service
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportServiceImpl.class);
+
+    private static final String SELECT_PRODUCTS = "SELECT p.id, p.name, p.description, p.price, c.name AS category, "
+            + "p.brand, p.stock_quantity, p.image_url FROM products p "
+            + "LEFT JOIN categories c ON c.id = p.category_id ORDER BY p.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    // The generator's buffer decides when bytes reach the response, not each row
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+            .configure(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, false);
+
+    public ProductExportServiceImpl(DataSourceProperties dataSourceProperties,
+            @Value("${product.export.datasource.url:}") String exportUrl,
+            @Value("${product.export.fetch-size:1000}") int fetchSize) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                exportUrl.isBlank() ? dataSourceProperties.determineUrl() : exportUrl,
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("useCursorFetch", "true");
+        dataSource.setConnectionProperties(connectionProperties);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public long exportProducts(OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        long[] count = new long[1];
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_PRODUCTS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, resultSet -> {
+                try {
+                    objectMapper.writeValue(generator, toResponse(resultSet));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            if (count[0] > 0) {
+                generator.writeRaw('\n');
+            }
+        } catch (UncheckedIOException e) {
+            // Usually the client hung up; the cursor is closed with the statement
+            throw e.getCause();
+        }
+        logger.info("Exported {} products in {} ms", count[0], System.currentTimeMillis() - started);
+        return count[0];
+    }
+
+    private static ProductResponse toResponse(ResultSet resultSet) throws SQLException {
+        return ProductResponse.builder()
+                .id(resultSet.getLong("id"))
+                .name(resultSet.getString("name"))
+                .description(resultSet.getString("description"))
+                .price(resultSet.getObject("price", Double.class))
+                .category(resultSet.getString("category"))
+                .brand(resultSet.getString("brand"))
+                .stockQuantity(resultSet.getObject("stock_quantity", Integer.class))
+                .imageUrl(resultSet.getString("image_url"))
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.services.productservice.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.services.productservice.dtos.ProductImportSummary;
+
+public interface ProductImportService {
+    enum Format {
+        NDJSON, CSV
+    }
+
+    ProductImportSummary importProducts(InputStream body, Format format, OutputStream report) throws IOException;
+}
@@ -0,0 +1,341 @@
+package com.services.productservice.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.services.productservice.dtos.ProductImportResult;
+import com.services.productservice.dtos.ProductImportSummary;
+import com.services.productservice.dtos.ProductRequest;
+import com.services.productservice.events.ProductsImportedEvent;
+import com.services.productservice.models.Category;
+import com.services.productservice.models.OutboxEventType;
+import com.services.productservice.repositories.CategoryRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports products from a streamed NDJSON or CSV body. Rows are read one at
+ * a time and written in chunks, each chunk one transaction holding a JDBC
+ * batch insert of the products and of their {@code product_outbox} rows; the
+ * outbox relay then indexes them with bulk requests as for any other write.
+ * When the database rejects a chunk, its rows are retried one per
+ * transaction so only the rows it actually refuses are reported as failed.
+ *
+ * <p>Categories are resolved from a map loaded once per import, and a
+ * missing category is created the first time a row names it. A report line
+ * is written per row as its chunk completes, so the caller sees progress
+ * and nothing is buffered beyond one chunk.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products "
+            + "(name, description, price, category_id, brand, stock_quantity, image_url, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_OUTBOX = "INSERT INTO product_outbox "
+            + "(product_id, event_type, created_at, next_attempt_at, attempts) VALUES (?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryRepository categoryRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public ProductImportServiceImpl(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            CategoryRepository categoryRepository,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${product.import.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.categoryRepository = categoryRepository;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ProductImportSummary importProducts(InputStream body, Format format, OutputStream report)
+            throws IOException {
+        long started = System.currentTimeMillis();
+        ProductImportSummary summary = new ProductImportSummary();
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryIds.putIfAbsent(category.getName(), category.getId());
+        }
+
+        Reader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        RowReader rows = format == Format.CSV ? csvRows(reader) : ndjsonRows(reader);
+        try {
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                Row row;
+                try {
+                    row = rows.next();
+                } catch (IOException e) {
+                    // The body itself is unreadable past this point; report what got in
+                    logger.warn("Product import stopped after {} rows", summary.getTotal(), e);
+                    summary.setError("Unreadable input after row " + summary.getTotal() + ": " + e.getMessage());
+                    break;
+                }
+                if (row == null) {
+                    break;
+                }
+                summary.setTotal(summary.getTotal() + 1);
+                row.number = summary.getTotal();
+                if (row.error == null) {
+                    row.error = validate(row.request);
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, categoryIds, summary, report);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, categoryIds, summary, report);
+
+            summary.setElapsedMs(System.currentTimeMillis() - started);
+            writeLine(report, summary);
+            report.flush();
+            logger.info("Imported {} of {} products in {} ms", summary.getCreated(), summary.getTotal(),
+                    summary.getElapsedMs());
+        } finally {
+            // Also when the caller went away mid-report; the committed chunks are in either way
+            if (summary.getCreated() > 0) {
+                eventPublisher.publishEvent(new ProductsImportedEvent(summary.getCreated()));
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Inserts the valid rows of the chunk in one transaction, falling back to
+     * one transaction per row if that fails, then reports every row in order.
+     */
+    private void writeChunk(List<Row> chunk, Map<String, Long> categoryIds, ProductImportSummary summary,
+            OutputStream report) throws IOException {
+        List<Row> valid = chunk.stream().filter(row -> row.error == null).collect(Collectors.toList());
+        if (!valid.isEmpty()) {
+            try {
+                for (Row row : valid) {
+                    row.categoryId = categoryIds.computeIfAbsent(row.request.getCategory(), this::createCategory);
+                }
+                List<Long> ids = transactionTemplate.execute(status -> {
+                    List<Long> inserted = insertProducts(valid);
+                    // Search index rows only; creates are not published as changes, see ProductChangeOutbox
+                    insertOutboxRows(inserted);
+                    return inserted;
+                });
+                for (int i = 0; i < valid.size(); i++) {
+                    valid.get(i).id = ids.get(i);
+                }
+            } catch (Exception e) {
+                logger.warn("Product import chunk of {} rows failed, retrying row by row", valid.size(), e);
+                valid.forEach(row -> insertRow(row, categoryIds));
+            }
+        }
+
+        for (Row row : chunk) {
+            ProductImportResult result;
+            if (row.error != null) {
+                summary.setRejected(summary.getRejected() + 1);
+                result = new ProductImportResult(row.number, ProductImportResult.REJECTED, null, row.error);
+            } else if (row.failure != null) {
+                summary.setFailed(summary.getFailed() + 1);
+                result = new ProductImportResult(row.number, ProductImportResult.FAILED, null, row.failure);
+            } else {
+                summary.setCreated(summary.getCreated() + 1);
+                result = new ProductImportResult(row.number, ProductImportResult.CREATED, row.id, null);
+            }
+            writeLine(report, result);
+        }
+        report.flush();
+    }
+
+    private void insertRow(Row row, Map<String, Long> categoryIds) {
+        try {
+            row.categoryId = categoryIds.computeIfAbsent(row.request.getCategory(), this::createCategory);
+            row.id = transactionTemplate.execute(status -> {
+                List<Long> inserted = insertProducts(List.of(row));
+                insertOutboxRows(inserted);
+                return inserted.get(0);
+            });
+        } catch (Exception e) {
+            // The driver's own message ("Data too long for column ...") rather than Spring's wrapper with the SQL
+            row.failure = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        }
+    }
+
+    private Long createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category).getId();
+    }
+
+    private List<Long> insertProducts(List<Row> rows) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_PRODUCT,
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (Row row : rows) {
+                    ProductRequest product = row.request;
+                    statement.setString(1, product.getName());
+                    statement.setString(2, product.getDescription());
+                    statement.setDouble(3, product.getPrice());
+                    statement.setLong(4, row.categoryId);
+                    statement.setString(5, product.getBrand());
+                    statement.setInt(6, product.getStockQuantity());
+                    if (product.getImageUrl() != null) {
+                        statement.setString(7, product.getImageUrl());
+                    } else {
+                        statement.setNull(7, Types.VARCHAR);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != rows.size()) {
+                    throw new IllegalStateException("Expected " + rows.size() + " generated ids, got " + ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    private void insertOutboxRows(List<Long> productIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX, productIds, productIds.size(), (statement, productId) -> {
+            statement.setLong(1, productId);
+            statement.setString(2, OutboxEventType.UPSERT.name());
+            statement.setTimestamp(3, now);
+            statement.setTimestamp(4, now);
+        });
+    }
+
+    private String validate(ProductRequest request) {
+        if (request == null) {
+            return "Empty row";
+        }
+        List<String> messages = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toList());
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    private void writeLine(OutputStream report, Object value) throws IOException {
+        report.write(objectMapper.writeValueAsBytes(value));
+        report.write('\n');
+    }
+
+    /** One JSON object per line; blank lines are skipped and a malformed line only rejects that row. */
+    private RowReader ndjsonRows(Reader reader) {
+        BufferedReader lines = (BufferedReader) reader;
+        return () -> {
+            String line;
+            do {
+                line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return new Row(objectMapper.readValue(line, ProductRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(null, e.getOriginalMessage());
+            }
+        };
+    }
+
+    /**
+     * CSV with a header row naming the {@link ProductRequest} fields. A value
+     * that does not convert rejects its row and reading resumes at the next
+     * record; a syntax error ends the import.
+     */
+    private RowReader csvRows(Reader reader) throws IOException {
+        MappingIterator<ProductRequest> records = csvMapper.readerFor(ProductRequest.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(reader);
+        return () -> {
+            if (!records.hasNextValue()) {
+                return null;
+            }
+            try {
+                return new Row(records.nextValue(), null);
+            } catch (JsonMappingException e) {
+                return new Row(null, e.getOriginalMessage());
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        /** The next row, or null at the end of the body. */
+        Row next() throws IOException;
+    }
+
+    private static final class Row {
+        final ProductRequest request;
+        String error;
+        long number;
+        Long categoryId;
+        Long id;
+        String failure;
+
+        Row(ProductRequest request, String error) {
+            this.request = request;
+            this.error = error;
+        }
+    }
+}
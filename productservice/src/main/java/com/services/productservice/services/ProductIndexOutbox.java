@@ -0,0 +1,59 @@
+package com.services.productservice.services;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.services.productservice.models.OutboxEventType;
+import com.services.productservice.models.ProductOutboxEvent;
+import com.services.productservice.repositories.ProductOutboxRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records search index changes in {@code product_outbox}. Must run inside the
+ * transaction that changes the product so both commit or neither does.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductIndexOutbox {
+
+    private final ProductOutboxRepository productOutboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUpsert(Long productId) {
+        productOutboxRepository.save(event(productId, OutboxEventType.UPSERT));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUpserts(Collection<Long> productIds) {
+        List<ProductOutboxEvent> events = productIds.stream()
+                .map(id -> event(id, OutboxEventType.UPSERT))
+                .collect(Collectors.toList());
+        productOutboxRepository.saveAll(events);
+    }
+
+    /** {@code version} is the product's version when it was deleted. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(Long productId, long version) {
+        ProductOutboxEvent event = event(productId, OutboxEventType.DELETE);
+        event.setVersion(version);
+        productOutboxRepository.save(event);
+    }
+
+    private static ProductOutboxEvent event(Long productId, OutboxEventType type) {
+        LocalDateTime now = LocalDateTime.now();
+        return ProductOutboxEvent.builder()
+                .productId(productId)
+                .eventType(type)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .attempts(0)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.services.productservice.services;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.dtos.ProductJson;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process L1 cache sitting in front of the Redis product hash.
+ * Entries are bounded by size and expire after a short TTL so that a missed
+ * invalidation message can only serve a stale product for a few seconds.
+ * The rendered JSON of a product is kept alongside and invalidated with it.
+ */
+@Component
+public class ProductNearCache {
+
+    private final Cache<Long, ProductResponse> cache;
+    private final Cache<Long, ProductJson> rendered;
+
+    public ProductNearCache(
+            @Value("${product.cache.near.max-size:10000}") long maxSize,
+            @Value("${product.cache.near.ttl-seconds:30}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.rendered = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+
+        FunctionCounter.builder("product.cache.evictions", cache, c -> c.stats().evictionCount())
+                .tag("tier", "near")
+                .description("Entries dropped from the near cache by size or TTL")
+                .register(meterRegistry);
+        Gauge.builder("product.cache.size", cache, Cache::estimatedSize)
+                .tag("tier", "near")
+                .register(meterRegistry);
+    }
+
+    public ProductResponse get(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void put(Long id, ProductResponse product) {
+        cache.put(id, product);
+    }
+
+    public ProductJson getJson(Long id) {
+        return rendered.getIfPresent(id);
+    }
+
+    public void putJson(Long id, ProductJson json) {
+        rendered.put(id, json);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+        rendered.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        rendered.invalidateAll();
+    }
+}
@@ -0,0 +1,250 @@
+package com.services.productservice.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ProductDocument;
+import com.services.productservice.models.ProductOutboxEvent;
+import com.services.productservice.models.ProductReindexJob;
+import com.services.productservice.models.ReindexStatus;
+import com.services.productservice.repositories.ProductOutboxRepository;
+import com.services.productservice.repositories.ProductReindexJobRepository;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.utils.ElasticSearchUtils;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains {@code product_outbox} into Elasticsearch with the bulk API. Events
+ * for the same product are collapsed into one operation that indexes the
+ * current MySQL row, or deletes the document when the row is gone, so
+ * replaying an event is always safe. Documents are indexed with the row's
+ * version as an external version, so a slower relay run holding an older
+ * row cannot overwrite a newer document. Deletes carry the version after
+ * the product's last one, so an index of an older row that lands after the
+ * delete is rejected as well, for as long as Elasticsearch keeps the delete
+ * ({@code index.gc_deletes}, 60s by default). Deletes queued before rows
+ * carried a version are sent unversioned.
+ *
+ * <p>Rows are claimed with SKIP LOCKED and deleted once Elasticsearch accepts
+ * them. Rejected rows are rescheduled with exponential backoff.
+ */
+@Component
+@ConditionalOnProperty(name = "product.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductOutboxRelay.class);
+
+    private final ProductOutboxRepository productOutboxRepository;
+    private final ProductRepository productRepository;
+    private final ProductReindexJobRepository productReindexJobRepository;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ObjectProvider<SearchResultCache> searchResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final String indexName;
+    private final int batchSize;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+
+    private final Counter indexed;
+    private final Counter failed;
+    private final Timer bulkTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public ProductOutboxRelay(ProductOutboxRepository productOutboxRepository,
+            ProductRepository productRepository,
+            ProductReindexJobRepository productReindexJobRepository,
+            ElasticsearchClient elasticsearchClient,
+            ObjectProvider<SearchResultCache> searchResultCache,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${product.outbox.relay.index:products}") String indexName,
+            @Value("${product.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${product.outbox.relay.backoff-initial-ms:1000}") long backoffInitialMs,
+            @Value("${product.outbox.relay.backoff-max-ms:300000}") long backoffMaxMs) {
+        this.productOutboxRepository = productOutboxRepository;
+        this.productRepository = productRepository;
+        this.productReindexJobRepository = productReindexJobRepository;
+        this.elasticsearchClient = elasticsearchClient;
+        this.searchResultCache = searchResultCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.indexName = indexName;
+        this.batchSize = batchSize;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+
+        this.indexed = Counter.builder("product.outbox.relayed").tag("result", "indexed").register(meterRegistry);
+        this.failed = Counter.builder("product.outbox.relayed").tag("result", "failed").register(meterRegistry);
+        this.bulkTimer = Timer.builder("product.outbox.bulk")
+                .description("Elasticsearch bulk request latency for outbox batches")
+                .register(meterRegistry);
+        Gauge.builder("product.outbox.pending", pending, AtomicLong::get)
+                .description("Rows waiting in product_outbox")
+                .register(meterRegistry);
+        Gauge.builder("product.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest row in product_outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${product.outbox.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            int claimed;
+            do {
+                Integer result = transactionTemplate.execute(status -> relayBatch());
+                claimed = result != null ? result : 0;
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            logger.error("Product outbox relay run failed", e);
+        } finally {
+            updateLagMetrics();
+        }
+    }
+
+    /** Relays one batch and returns how many rows it claimed, or 0 when the bulk call failed outright. */
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductOutboxEvent> events = productOutboxRepository.claimReady(now, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> productIds = events.stream()
+                .map(ProductOutboxEvent::getProductId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Long> deletedVersions = events.stream()
+                .filter(event -> event.getVersion() != null)
+                .collect(Collectors.toMap(ProductOutboxEvent::getProductId, ProductOutboxEvent::getVersion, Math::max));
+
+        Map<String, String> errors;
+        try {
+            errors = bulkTimer.recordCallable(() -> bulkIndex(productIds, products, deletedVersions));
+        } catch (Exception e) {
+            logger.warn("Elasticsearch bulk request for {} products failed", productIds.size(), e);
+            reschedule(events, now, e.getMessage());
+            return 0;
+        }
+
+        List<ProductOutboxEvent> done = new ArrayList<>();
+        List<ProductOutboxEvent> rejected = new ArrayList<>();
+        for (ProductOutboxEvent event : events) {
+            (errors.containsKey(event.getProductId().toString()) ? rejected : done).add(event);
+        }
+        productOutboxRepository.deleteAllInBatch(done);
+        indexed.increment(done.size());
+        if (!done.isEmpty()) {
+            searchResultCache.ifAvailable(SearchResultCache::bumpVersion);
+        }
+        if (!rejected.isEmpty()) {
+            for (ProductOutboxEvent event : rejected) {
+                scheduleRetry(event, now, errors.get(event.getProductId().toString()));
+            }
+            failed.increment(rejected.size());
+            logger.warn("Elasticsearch rejected {} of {} outbox rows", rejected.size(), events.size());
+        }
+        return events.size();
+    }
+
+    /** Sends one bulk request and returns the error reason per rejected document id. */
+    private Map<String, String> bulkIndex(Set<Long> productIds, Map<Long, Product> products,
+            Map<Long, Long> deletedVersions) throws Exception {
+        // While a reindex is loading, changes also go to its target so they are not lost at the swap
+        List<String> indices = new ArrayList<>();
+        indices.add(indexName);
+        productReindexJobRepository.findFirstByStatusOrderByIdDesc(ReindexStatus.RUNNING)
+                .map(ProductReindexJob::getTargetIndex)
+                .ifPresent(indices::add);
+
+        BulkRequest.Builder bulk = new BulkRequest.Builder();
+        for (Long productId : productIds) {
+            String id = productId.toString();
+            Product product = products.get(productId);
+            Long deletedVersion = deletedVersions.get(productId);
+            for (String index : indices) {
+                if (product != null) {
+                    ProductDocument document = ElasticSearchUtils.toProductDocument(product);
+                    bulk.operations(op -> op.index(idx -> idx.index(index)
+                            .id(id)
+                            .version(product.getVersion())
+                            .versionType(VersionType.External)
+                            .document(document)));
+                } else if (deletedVersion != null) {
+                    bulk.operations(op -> op.delete(del -> del.index(index)
+                            .id(id)
+                            .version(deletedVersion + 1)
+                            .versionType(VersionType.External)));
+                } else {
+                    bulk.operations(op -> op.delete(del -> del.index(index).id(id)));
+                }
+            }
+        }
+
+        BulkResponse response = elasticsearchClient.bulk(bulk.build());
+        if (!response.errors()) {
+            return Map.of();
+        }
+        return response.items().stream()
+                // A version conflict means the document already holds this row or a newer one
+                .filter(item -> item.error() != null
+                        && !"version_conflict_engine_exception".equals(item.error().type()))
+                .collect(Collectors.toMap(BulkResponseItem::id,
+                        item -> String.valueOf(item.error().reason()), (a, b) -> a));
+    }
+
+    private void reschedule(List<ProductOutboxEvent> events, LocalDateTime now, String error) {
+        for (ProductOutboxEvent event : events) {
+            scheduleRetry(event, now, error);
+        }
+        failed.increment(events.size());
+    }
+
+    private void scheduleRetry(ProductOutboxEvent event, LocalDateTime now, String error) {
+        int attempts = event.getAttempts() + 1;
+        long delayMs = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 20));
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(now.plus(Duration.ofMillis(delayMs)));
+        event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+    }
+
+    private void updateLagMetrics() {
+        try {
+            pending.set(productOutboxRepository.count());
+            lagSeconds.set(productOutboxRepository.findOldestCreatedAt()
+                    .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds()))
+                    .orElse(0L));
+        } catch (Exception e) {
+            logger.debug("Failed to refresh outbox lag metrics", e);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.services.productservice.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ProductDocument;
+import com.services.productservice.models.ProductReindexJob;
+import com.services.productservice.models.ReindexStatus;
+import com.services.productservice.repositories.ProductReindexJobRepository;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.utils.ElasticSearchUtils;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.HealthStatus;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.VersionType;
+import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+
+/**
+ * Rebuilds the products index from MySQL into a fresh versioned index and
+ * swaps the alias over once it is complete. Searches keep hitting the old
+ * index until the swap, which is a single atomic alias update.
+ *
+ * <p>Products are read with a keyset cursor on id and loaded with bulk
+ * {@code index} operations carrying the row version. The outbox relay writes
+ * live changes to the new index while the job runs; the external version
+ * keeps the snapshot the cursor read from overwriting those newer documents.
+ * A delete is not versioned, so once the copy is done the index is walked
+ * once more and documents whose product is gone are removed. The swap deletes
+ * the index it replaces.
+ */
+@Component
+public class ProductReindexRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductReindexRunner.class);
+
+    private final ProductRepository productRepository;
+    private final ProductReindexJobRepository productReindexJobRepository;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ObjectProvider<SearchResultCache> searchResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final String alias;
+    private final int batchSize;
+    private final String replicas;
+
+    public ProductReindexRunner(ProductRepository productRepository,
+            ProductReindexJobRepository productReindexJobRepository,
+            ElasticsearchClient elasticsearchClient,
+            ObjectProvider<SearchResultCache> searchResultCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.reindex.alias:products}") String alias,
+            @Value("${product.reindex.batch-size:1000}") int batchSize,
+            @Value("${product.reindex.replicas:1}") String replicas) {
+        this.productRepository = productRepository;
+        this.productReindexJobRepository = productReindexJobRepository;
+        this.elasticsearchClient = elasticsearchClient;
+        this.searchResultCache = searchResultCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.alias = alias;
+        this.batchSize = batchSize;
+        this.replicas = replicas;
+    }
+
+    /**
+     * Creates the target with the live index's mapping, no replicas and refresh
+     * disabled; both are restored before the alias swap.
+     */
+    public void createTargetIndex(String targetIndex) {
+        try {
+            CreateIndexRequest.Builder request = new CreateIndexRequest.Builder()
+                    .index(targetIndex)
+                    .settings(s -> s.numberOfReplicas("0").refreshInterval(t -> t.time("-1")));
+            TypeMapping mapping = currentMapping();
+            if (mapping != null) {
+                request.mappings(mapping);
+            }
+            elasticsearchClient.indices().create(request.build());
+            logger.info("Created reindex target {}", targetIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create index " + targetIndex, e);
+        }
+    }
+
+    @Async
+    public void run(Long jobId) {
+        ProductReindexJob job = productReindexJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            logger.warn("Reindex job {} disappeared before it started", jobId);
+            return;
+        }
+        String targetIndex = job.getTargetIndex();
+        LocalDateTime runStartedAt = job.getRunStartedAt();
+        long afterId = job.getLastProductId();
+        logger.info("Reindex job {} loading {} from product id {}", jobId, targetIndex, afterId);
+
+        try {
+            while (true) {
+                long cursor = afterId;
+                List<Product> page = transactionTemplate.execute(
+                        status -> productRepository.findNextPageAfter(cursor, PageRequest.of(0, batchSize)));
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                bulkCreate(targetIndex, page);
+                afterId = page.get(page.size() - 1).getId();
+                checkpoint(jobId, runStartedAt, afterId, page.size());
+            }
+
+            finalizeIndex(targetIndex);
+            int removed = removeDeleted(targetIndex);
+            if (removed > 0) {
+                logger.info("Reindex job {} removed {} products deleted during the copy", jobId, removed);
+            }
+            swapAlias(targetIndex);
+            searchResultCache.ifAvailable(SearchResultCache::bumpVersion);
+            complete(jobId);
+        } catch (TakenOverException e) {
+            logger.warn("Reindex job {} was taken over by another run, stopping after product id {}", jobId,
+                    afterId);
+        } catch (Exception e) {
+            logger.error("Reindex job {} failed after product id {}", jobId, afterId, e);
+            fail(jobId, e);
+        }
+    }
+
+    private void bulkCreate(String targetIndex, List<Product> products) throws IOException {
+        BulkRequest.Builder bulk = new BulkRequest.Builder();
+        for (Product product : products) {
+            // Versioned like the relay's writes, so whichever of the two has the newer row wins
+            bulk.operations(op -> op.index(idx -> idx.index(targetIndex)
+                    .id(product.getId().toString())
+                    .version(product.getVersion())
+                    .versionType(VersionType.External)
+                    .document(ElasticSearchUtils.toProductDocument(product))));
+        }
+        BulkResponse response = elasticsearchClient.bulk(bulk.build());
+        if (!response.errors()) {
+            return;
+        }
+        for (BulkResponseItem item : response.items()) {
+            // A conflict means the relay already wrote this or a newer version of the product
+            if (item.error() != null && !"version_conflict_engine_exception".equals(item.error().type())) {
+                throw new IllegalStateException("Bulk load rejected product " + item.id() + ": "
+                        + item.error().reason());
+            }
+        }
+    }
+
+    private void checkpoint(Long jobId, LocalDateTime runStartedAt, long lastProductId, int loaded) {
+        ProductReindexJob job = transactionTemplate.execute(status -> {
+            ProductReindexJob current = productReindexJobRepository.findById(jobId).orElseThrow();
+            // This run stalled long enough to be failed or resumed elsewhere; that run owns the job now
+            if (current.getStatus() != ReindexStatus.RUNNING || !runStartedAt.equals(current.getRunStartedAt())) {
+                throw new TakenOverException();
+            }
+            current.setLastProductId(lastProductId);
+            current.setIndexedCount(current.getIndexedCount() + loaded);
+            current.setUpdatedAt(LocalDateTime.now());
+            return productReindexJobRepository.save(current);
+        });
+        if (job != null) {
+            double seconds = Duration.between(job.getRunStartedAt(), job.getUpdatedAt()).toMillis() / 1000.0;
+            logger.info("Reindex job {}: {} docs, last id {}, {} docs/sec", jobId, job.getIndexedCount(),
+                    lastProductId,
+                    seconds > 0 ? String.format("%.0f", (job.getIndexedCount() - job.getRunStartCount()) / seconds)
+                            : "-");
+        }
+    }
+
+    private void finalizeIndex(String targetIndex) throws IOException {
+        elasticsearchClient.indices().putSettings(p -> p.index(targetIndex)
+                .settings(s -> s.numberOfReplicas(replicas).refreshInterval(t -> t.time("1s"))));
+        elasticsearchClient.indices().refresh(r -> r.index(targetIndex));
+        elasticsearchClient.cluster().health(h -> h.index(targetIndex)
+                .waitForStatus(HealthStatus.Yellow)
+                .timeout(t -> t.time("60s")));
+    }
+
+    /**
+     * Deletes documents in the loaded index whose product row no longer exists,
+     * walking it with a point-in-time. Returns how many were removed.
+     */
+    private int removeDeleted(String targetIndex) throws IOException {
+        String pitId = elasticsearchClient.openPointInTime(o -> o.index(targetIndex)
+                .keepAlive(k -> k.time("5m"))).id();
+        int removed = 0;
+        try {
+            List<FieldValue> after = null;
+            while (true) {
+                SearchRequest.Builder request = new SearchRequest.Builder()
+                        .pit(p -> p.id(pitId).keepAlive(k -> k.time("5m")))
+                        .size(batchSize)
+                        .source(src -> src.fetch(false))
+                        .trackTotalHits(t -> t.enabled(false))
+                        .sort(so -> so.field(f -> f.field("_shard_doc").order(SortOrder.Asc)));
+                if (after != null) {
+                    request.searchAfter(after);
+                }
+                SearchResponse<ProductDocument> response = elasticsearchClient.search(request.build(),
+                        ProductDocument.class);
+                List<Hit<ProductDocument>> hits = response.hits().hits();
+                if (hits.isEmpty()) {
+                    break;
+                }
+
+                List<Long> ids = hits.stream().map(hit -> Long.valueOf(hit.id())).toList();
+                List<Long> existing = transactionTemplate.execute(
+                        status -> productRepository.findExistingIds(ids));
+                Set<Long> missing = new HashSet<>(ids);
+                if (existing != null) {
+                    existing.forEach(missing::remove);
+                }
+                if (!missing.isEmpty()) {
+                    BulkRequest.Builder bulk = new BulkRequest.Builder();
+                    for (Long id : missing) {
+                        bulk.operations(op -> op.delete(d -> d.index(targetIndex).id(id.toString())));
+                    }
+                    BulkResponse deleted = elasticsearchClient.bulk(bulk.build());
+                    for (BulkResponseItem item : deleted.items()) {
+                        if (item.error() != null) {
+                            throw new IllegalStateException("Failed to remove deleted product " + item.id() + ": "
+                                    + item.error().reason());
+                        }
+                    }
+                    removed += missing.size();
+                }
+                after = hits.get(hits.size() - 1).sort();
+            }
+        } finally {
+            try {
+                elasticsearchClient.closePointInTime(c -> c.id(pitId));
+            } catch (Exception e) {
+                logger.debug("Failed to close point in time on {}", targetIndex, e);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Points the alias at the new index and deletes the indices it pointed at
+     * before, in one request. A concrete index still named like the alias (the
+     * layout before versioned indices) is removed the same way.
+     */
+    private void swapAlias(String targetIndex) throws IOException {
+        List<Action> actions = new ArrayList<>();
+        if (elasticsearchClient.indices().existsAlias(e -> e.name(alias)).value()) {
+            for (String index : elasticsearchClient.indices().getAlias(g -> g.name(alias)).result().keySet()) {
+                if (!index.equals(targetIndex)) {
+                    actions.add(Action.of(a -> a.removeIndex(r -> r.index(index))));
+                }
+            }
+        } else if (elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+        }
+        actions.add(Action.of(a -> a.add(ad -> ad.index(targetIndex).alias(alias))));
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+        logger.info("Alias {} now points at {}", alias, targetIndex);
+    }
+
+    private TypeMapping currentMapping() throws IOException {
+        try {
+            return elasticsearchClient.indices().getMapping(g -> g.index(alias)).result().values().stream()
+                    .findFirst()
+                    .map(IndexMappingRecord::mappings)
+                    .orElse(null);
+        } catch (ElasticsearchException e) {
+            // No live index yet; fall back to dynamic mapping like the first index had
+            return null;
+        }
+    }
+
+    private void complete(Long jobId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProductReindexJob job = productReindexJobRepository.findById(jobId).orElseThrow();
+            LocalDateTime now = LocalDateTime.now();
+            job.setStatus(ReindexStatus.COMPLETED);
+            job.setActiveAlias(null);
+            job.setUpdatedAt(now);
+            job.setCompletedAt(now);
+            productReindexJobRepository.save(job);
+        });
+        logger.info("Reindex job {} completed", jobId);
+    }
+
+    private void fail(Long jobId, Exception cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ProductReindexJob job = productReindexJobRepository.findById(jobId).orElseThrow();
+                String message = String.valueOf(cause.getMessage());
+                job.setStatus(ReindexStatus.FAILED);
+                job.setActiveAlias(null);
+                job.setUpdatedAt(LocalDateTime.now());
+                job.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                productReindexJobRepository.save(job);
+            });
+        } catch (Exception e) {
+            logger.error("Failed to record failure of reindex job {}", jobId, e);
+        }
+    }
+
+    private static class TakenOverException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+}
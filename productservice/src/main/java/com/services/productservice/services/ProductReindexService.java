@@ -0,0 +1,11 @@
+package com.services.productservice.services;
+
+import com.services.productservice.dtos.ReindexJobResponse;
+
+public interface ProductReindexService {
+    ReindexJobResponse startReindex();
+
+    ReindexJobResponse getJob(Long jobId);
+
+    ReindexJobResponse resume(Long jobId);
+}
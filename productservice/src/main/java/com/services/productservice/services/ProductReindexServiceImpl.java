@@ -0,0 +1,148 @@
+package com.services.productservice.services;
+
+import com.services.productservice.dtos.ReindexJobResponse;
+import com.services.productservice.exceptions.NotFoundException;
+import com.services.productservice.exceptions.ReindexConflictException;
+import com.services.productservice.models.ProductReindexJob;
+import com.services.productservice.models.ReindexStatus;
+import com.services.productservice.repositories.ProductReindexJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Service
+@RequiredArgsConstructor
+public class ProductReindexServiceImpl implements ProductReindexService {
+
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final ProductReindexJobRepository productReindexJobRepository;
+    private final ProductReindexRunner productReindexRunner;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${product.reindex.alias:products}")
+    private String alias;
+
+    // A RUNNING job that has not checkpointed for this long is assumed to belong to a dead instance
+    @Value("${product.reindex.stale-after-seconds:300}")
+    private long staleAfterSeconds;
+
+    /**
+     * Starts a job unless one is already running. The check is only a fast path:
+     * the unique {@code activeAlias} column is what stops two concurrent starts,
+     * and a stalled job is failed with a compare-and-set before it is replaced.
+     */
+    @Override
+    public ReindexJobResponse startReindex() {
+        productReindexJobRepository.findFirstByStatusOrderByIdDesc(ReindexStatus.RUNNING)
+                .ifPresent(job -> {
+                    if (!isStale(job)) {
+                        throw new ReindexConflictException("Reindex job " + job.getId() + " is already running");
+                    }
+                    failStale(job);
+                });
+
+        LocalDateTime now = LocalDateTime.now();
+        String targetIndex = alias + "_v" + now.format(VERSION_FORMAT);
+        ProductReindexJob job;
+        try {
+            job = new TransactionTemplate(transactionManager).execute(status -> {
+                ProductReindexJob created = productReindexJobRepository.saveAndFlush(ProductReindexJob.builder()
+                        .targetIndex(targetIndex)
+                        .status(ReindexStatus.RUNNING)
+                        .activeAlias(alias)
+                        .lastProductId(0)
+                        .indexedCount(0)
+                        .runStartCount(0)
+                        .startedAt(now)
+                        .runStartedAt(now)
+                        .updatedAt(now)
+                        .build());
+                // Created while the insert is uncommitted: the index must exist before the job is
+                // visible, otherwise the outbox relay's dual writes would auto-create it with default
+                // settings, and a start that lost the race above never creates one
+                productReindexRunner.createTargetIndex(targetIndex);
+                return created;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new ReindexConflictException("Another reindex job is already running");
+        }
+        productReindexRunner.run(job.getId());
+        return mapToResponse(job);
+    }
+
+    @Override
+    public ReindexJobResponse getJob(Long jobId) {
+        return mapToResponse(findJob(jobId));
+    }
+
+    @Override
+    public ReindexJobResponse resume(Long jobId) {
+        ProductReindexJob job = findJob(jobId);
+        if (job.getStatus() == ReindexStatus.RUNNING && isStale(job)) {
+            failStale(job);
+        } else if (job.getStatus() != ReindexStatus.FAILED) {
+            throw new ReindexConflictException("Reindex job " + jobId + " is " + job.getStatus() + " and cannot be resumed");
+        }
+
+        Integer resumed;
+        try {
+            resumed = new TransactionTemplate(transactionManager).execute(status -> productReindexJobRepository
+                    .resumeIfFailed(jobId, alias, LocalDateTime.now(), ReindexStatus.FAILED, ReindexStatus.RUNNING));
+        } catch (DataIntegrityViolationException e) {
+            throw new ReindexConflictException("Another reindex job is already running");
+        }
+        if (resumed == null || resumed == 0) {
+            throw new ReindexConflictException("Reindex job " + jobId + " was resumed by another request");
+        }
+        productReindexRunner.run(jobId);
+        return mapToResponse(findJob(jobId));
+    }
+
+    private ProductReindexJob findJob(Long jobId) {
+        return productReindexJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Reindex job not found"));
+    }
+
+    /** Fails a stalled job, unless it checkpointed or was taken over since it was read. */
+    private void failStale(ProductReindexJob job) {
+        Integer failed = new TransactionTemplate(transactionManager).execute(status -> productReindexJobRepository
+                .failIfUnchanged(job.getId(), job.getUpdatedAt(), LocalDateTime.now(),
+                        "Stopped checkpointing; taken over", ReindexStatus.RUNNING, ReindexStatus.FAILED));
+        if (failed == null || failed == 0) {
+            throw new ReindexConflictException("Reindex job " + job.getId() + " changed while being taken over");
+        }
+    }
+
+    private boolean isStale(ProductReindexJob job) {
+        return job.getUpdatedAt() == null
+                || job.getUpdatedAt().isBefore(LocalDateTime.now().minusSeconds(staleAfterSeconds));
+    }
+
+    private ReindexJobResponse mapToResponse(ProductReindexJob job) {
+        LocalDateTime end = job.getCompletedAt() != null ? job.getCompletedAt()
+                : job.getStatus() == ReindexStatus.RUNNING ? LocalDateTime.now() : job.getUpdatedAt();
+        double seconds = end != null ? Duration.between(job.getRunStartedAt(), end).toMillis() / 1000.0 : 0;
+
+        ReindexJobResponse response = new ReindexJobResponse();
+        response.setId(job.getId());
+        response.setStatus(job.getStatus().name());
+        response.setTargetIndex(job.getTargetIndex());
+        response.setLastProductId(job.getLastProductId());
+        response.setIndexedCount(job.getIndexedCount());
+        response.setDocsPerSecond(seconds > 0 ? (job.getIndexedCount() - job.getRunStartCount()) / seconds : 0);
+        response.setStartedAt(job.getStartedAt());
+        response.setUpdatedAt(job.getUpdatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        response.setError(job.getError());
+        return response;
+    }
+}
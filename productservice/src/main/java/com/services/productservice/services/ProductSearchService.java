@@ -0,0 +1,31 @@
+package com.services.productservice.services;
+
+import com.services.common.dtos.CursorPage;
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.dtos.FacetedSearchResponse;
+
+import java.util.List;
+
+public interface ProductSearchService {
+    CursorPage<ProductResponse> searchByName(String keyword, String after, int limit);
+
+    CursorPage<ProductResponse> fullTextSearch(String text, String after, int limit);
+
+    CursorPage<ProductResponse> searchByMultipleCriteria(
+            String categoryName,
+            String brand,
+            Double minPrice,
+            Double maxPrice,
+            String after,
+            int limit);
+
+    FacetedSearchResponse facetedSearch(
+            String text,
+            List<String> brands,
+            List<String> categories,
+            Double minPrice,
+            Double maxPrice,
+            double priceInterval,
+            int pageNumber,
+            int pageSize);
+}
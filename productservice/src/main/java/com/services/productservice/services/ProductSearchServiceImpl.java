@@ -0,0 +1,356 @@
+package com.services.productservice.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.common.dtos.CursorPage;
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.dtos.FacetedSearchResponse;
+import com.services.productservice.exceptions.SearchCursorExpiredException;
+import com.services.productservice.models.ProductDocument;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+
+/**
+ * Cursor-based search using a point-in-time and {@code search_after}. The
+ * first page opens a PIT so later pages see the same snapshot of the index;
+ * every page then costs one sorted seek regardless of depth, and there is no
+ * 10k from+size limit.
+ *
+ * <p>The continuation token carries the PIT id, the sort values of the last
+ * hit and a fingerprint of the query, base64url encoded.
+ */
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchServiceImpl.class);
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String indexName;
+    private final String keepAlive;
+    private final int facetSize;
+
+    // index.max_result_window default; deeper pages need the cursor endpoints
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    public ProductSearchServiceImpl(ElasticsearchClient elasticsearchClient,
+            @Value("${product.search.index:products}") String indexName,
+            @Value("${product.search.pit-keep-alive:2m}") String keepAlive,
+            @Value("${product.search.facet-size:20}") int facetSize) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.indexName = indexName;
+        this.keepAlive = keepAlive;
+        this.facetSize = facetSize;
+    }
+
+    @Override
+    public CursorPage<ProductResponse> searchByName(String keyword, String after, int limit) {
+        Query query = Query.of(q -> q.fuzzy(f -> f.field("name").value(keyword).fuzziness("AUTO")));
+        return search(query, "name:" + keyword, after, limit);
+    }
+
+    @Override
+    public CursorPage<ProductResponse> fullTextSearch(String text, String after, int limit) {
+        Query query = Query.of(q -> q.multiMatch(m -> m.query(text)
+                .fields("name^2", "description", "brand", "category.name")));
+        return search(query, "text:" + text, after, limit);
+    }
+
+    @Override
+    public CursorPage<ProductResponse> searchByMultipleCriteria(String categoryName, String brand,
+            Double minPrice, Double maxPrice, String after, int limit) {
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+        if (categoryName != null) {
+            bool.filter(f -> f.match(m -> m.field("category.name").query(categoryName).operator(Operator.And)));
+        }
+        if (brand != null) {
+            bool.filter(f -> f.match(m -> m.field("brand").query(brand).operator(Operator.And)));
+        }
+        Query priceFilter = priceFilter(minPrice, maxPrice);
+        if (priceFilter != null) {
+            bool.filter(priceFilter);
+        }
+        Query query = Query.of(q -> q.bool(bool.build()));
+        String fingerprint = "criteria:" + categoryName + "|" + brand + "|" + minPrice + "|" + maxPrice;
+        return search(query, fingerprint, after, limit);
+    }
+
+    @Override
+    public FacetedSearchResponse facetedSearch(String text, List<String> brands, List<String> categories,
+            Double minPrice, Double maxPrice, double priceInterval, int pageNumber, int pageSize) {
+        if ((long) (pageNumber + 1) * pageSize > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Page is beyond the first " + MAX_RESULT_WINDOW
+                    + " results, use the cursor search instead");
+        }
+
+        Query query = text != null && !text.isBlank()
+                ? Query.of(q -> q.multiMatch(m -> m.query(text)
+                        .fields("name^2", "description", "brand", "category.name")))
+                : Query.of(q -> q.matchAll(m -> m));
+        Query brandFilter = termsFilter("brand.keyword", brands);
+        Query categoryFilter = termsFilter("category.name.keyword", categories);
+        Query priceFilter = priceFilter(minPrice, maxPrice);
+
+        // Selections narrow the hits through post_filter, and each facet is counted with every
+        // selection except its own, so picking one brand still shows the other brands' counts
+        Map<String, Aggregation> aggregations = new HashMap<>();
+        aggregations.put("brands", Aggregation.of(a -> a.filter(allOf(categoryFilter, priceFilter))
+                .aggregations("values", t -> t.terms(terms -> terms.field("brand.keyword").size(facetSize)))));
+        aggregations.put("categories", Aggregation.of(a -> a.filter(allOf(brandFilter, priceFilter))
+                .aggregations("values", t -> t.terms(terms -> terms.field("category.name.keyword").size(facetSize)))));
+        aggregations.put("prices", Aggregation.of(a -> a.filter(allOf(brandFilter, categoryFilter))
+                .aggregations("values", h -> h.histogram(histogram -> histogram.field("price")
+                        .interval(priceInterval)
+                        .minDocCount(1)))));
+
+        try {
+            SearchResponse<ProductDocument> response = elasticsearchClient.search(s -> s
+                    .index(indexName)
+                    .query(query)
+                    .postFilter(allOf(brandFilter, categoryFilter, priceFilter))
+                    .aggregations(aggregations)
+                    .from(pageNumber * pageSize)
+                    .size(pageSize), ProductDocument.class);
+
+            FacetedSearchResponse result = new FacetedSearchResponse();
+            result.setItems(response.hits().hits().stream()
+                    .map(Hit::source)
+                    .filter(Objects::nonNull)
+                    .map(ProductSearchServiceImpl::mapToResponse)
+                    .collect(Collectors.toList()));
+            result.setTotalHits(response.hits().total() != null ? response.hits().total().value() : 0);
+            result.setPageNumber(pageNumber);
+            result.setPageSize(pageSize);
+            result.setBrands(termBuckets(response.aggregations().get("brands")));
+            result.setCategories(termBuckets(response.aggregations().get("categories")));
+            result.setPrices(response.aggregations().get("prices").filter().aggregations().get("values")
+                    .histogram().buckets().array().stream()
+                    .map(bucket -> new FacetedSearchResponse.PriceBucket(bucket.key(),
+                            bucket.key() + priceInterval, bucket.docCount()))
+                    .collect(Collectors.toList()));
+            return result;
+        } catch (IOException e) {
+            throw new IllegalStateException("Faceted search failed", e);
+        }
+    }
+
+    private static List<FacetedSearchResponse.FacetBucket> termBuckets(Aggregate aggregate) {
+        return aggregate.filter().aggregations().get("values").sterms().buckets().array().stream()
+                .map(bucket -> new FacetedSearchResponse.FacetBucket(bucket.key().stringValue(), bucket.docCount()))
+                .collect(Collectors.toList());
+    }
+
+    private static Query termsFilter(String field, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        List<FieldValue> terms = values.stream().map(FieldValue::of).collect(Collectors.toList());
+        return Query.of(q -> q.terms(t -> t.field(field).terms(v -> v.value(terms))));
+    }
+
+    private static Query priceFilter(Double minPrice, Double maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        return Query.of(q -> q.range(r -> r.untyped(u -> {
+            u.field("price");
+            if (minPrice != null) {
+                u.gte(JsonData.of(minPrice));
+            }
+            if (maxPrice != null) {
+                u.lte(JsonData.of(maxPrice));
+            }
+            return u;
+        })));
+    }
+
+    /** Combines the non-null filters; matches everything when there are none. */
+    private static Query allOf(Query... filters) {
+        List<Query> active = new ArrayList<>();
+        for (Query filter : filters) {
+            if (filter != null) {
+                active.add(filter);
+            }
+        }
+        if (active.isEmpty()) {
+            return Query.of(q -> q.matchAll(m -> m));
+        }
+        return Query.of(q -> q.bool(b -> b.filter(active)));
+    }
+
+    private CursorPage<ProductResponse> search(Query query, String fingerprint, String after, int limit) {
+        String queryHash = Integer.toHexString(fingerprint.hashCode());
+        Token token = after != null && !after.isBlank() ? decode(after) : null;
+        if (token != null && !queryHash.equals(token.q)) {
+            throw new IllegalArgumentException("Cursor does not belong to this search");
+        }
+
+        try {
+            String pitId = token != null ? token.p : openPointInTime();
+            SearchRequest.Builder request = new SearchRequest.Builder()
+                    .pit(p -> p.id(pitId).keepAlive(k -> k.time(keepAlive)))
+                    .query(query)
+                    // One extra hit tells us whether another page exists
+                    .size(limit + 1)
+                    .trackTotalHits(t -> t.enabled(false))
+                    .sort(s -> s.score(sc -> sc.order(SortOrder.Desc)))
+                    // Tiebreaker that is unique within the PIT, so no hit is skipped or repeated
+                    .sort(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc)));
+            if (token != null) {
+                request.searchAfter(token.s.stream().map(ProductSearchServiceImpl::toFieldValue)
+                        .collect(Collectors.toList()));
+            }
+
+            SearchResponse<ProductDocument> response = elasticsearchClient.search(request.build(),
+                    ProductDocument.class);
+            List<Hit<ProductDocument>> hits = response.hits().hits();
+            boolean hasNext = hits.size() > limit;
+            List<Hit<ProductDocument>> page = hasNext ? hits.subList(0, limit) : hits;
+            String nextPitId = response.pitId() != null ? response.pitId() : pitId;
+
+            String nextCursor = null;
+            if (hasNext) {
+                Hit<ProductDocument> last = page.get(page.size() - 1);
+                nextCursor = encode(new Token(nextPitId, last.sort().stream()
+                        .map(ProductSearchServiceImpl::fromFieldValue)
+                        .collect(Collectors.toList()), queryHash));
+            } else {
+                closePointInTime(nextPitId);
+            }
+
+            List<ProductResponse> items = page.stream()
+                    .map(Hit::source)
+                    .filter(Objects::nonNull)
+                    .map(ProductSearchServiceImpl::mapToResponse)
+                    .collect(Collectors.toList());
+            return new CursorPage<>(items, nextCursor, hasNext);
+        } catch (ElasticsearchException e) {
+            if (token != null && e.status() == 404) {
+                throw new SearchCursorExpiredException("Search cursor has expired, start the search again");
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new IllegalStateException("Search request failed", e);
+        }
+    }
+
+    private String openPointInTime() throws IOException {
+        return elasticsearchClient.openPointInTime(o -> o.index(indexName).keepAlive(k -> k.time(keepAlive))).id();
+    }
+
+    private void closePointInTime(String pitId) {
+        try {
+            elasticsearchClient.closePointInTime(c -> c.id(pitId));
+        } catch (Exception e) {
+            // The PIT expires on its own after the keep-alive
+            logger.debug("Failed to close point in time", e);
+        }
+    }
+
+    private String encode(Token token) {
+        try {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("p", token.p);
+            value.put("s", token.s);
+            value.put("q", token.q);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+
+    private Token decode(String cursor) {
+        try {
+            Map<String, Object> value = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor),
+                    new TypeReference<Map<String, Object>>() {
+                    });
+            @SuppressWarnings("unchecked")
+            List<Object> sort = (List<Object>) value.get("s");
+            if (value.get("p") == null || sort == null) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Token((String) value.get("p"), new ArrayList<>(sort), (String) value.get("q"));
+        } catch (IOException | ClassCastException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static Object fromFieldValue(FieldValue value) {
+        if (value.isDouble()) {
+            return value.doubleValue();
+        }
+        if (value.isLong()) {
+            return value.longValue();
+        }
+        if (value.isBoolean()) {
+            return value.booleanValue();
+        }
+        return value.isNull() ? null : value.stringValue();
+    }
+
+    private static FieldValue toFieldValue(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            return FieldValue.of(((Number) value).doubleValue());
+        }
+        if (value instanceof Number number) {
+            return FieldValue.of(number.longValue());
+        }
+        if (value instanceof Boolean bool) {
+            return FieldValue.of(bool);
+        }
+        return value == null ? FieldValue.NULL : FieldValue.of(value.toString());
+    }
+
+    private static ProductResponse mapToResponse(ProductDocument product) {
+        return ProductResponse.builder()
+                .id(Long.valueOf(product.getId()))
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .category(product.getCategory() != null ? product.getCategory().getName() : null)
+                .brand(product.getBrand())
+                .stockQuantity(product.getStockQuantity())
+                .imageUrl(product.getImageUrl())
+                .build();
+    }
+
+    private static class Token {
+        private final String p;
+        private final List<Object> s;
+        private final String q;
+
+        private Token(String p, List<Object> s, String q) {
+            this.p = p;
+            this.s = s;
+            this.q = q;
+        }
+    }
+}
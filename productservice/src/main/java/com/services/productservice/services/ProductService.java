@@ -1,6 +1,8 @@
 package com.services.productservice.services;
 
+import com.services.common.dtos.CursorPage;
 import com.services.common.dtos.ProductResponse;
+import com.services.productservice.dtos.ProductJson;
 import com.services.productservice.dtos.ProductRequest;
 
 import org.springframework.data.domain.Page;
@@ -12,8 +14,16 @@ public interface ProductService {
 
     List<ProductResponse> getAllProducts(int pageNumber, int pageSize);
 
+    CursorPage<ProductResponse> getProductsAfter(String after, int limit);
+
+    CursorPage<ProductResponse> getProductsByCategoryAfter(String category, String after, int limit);
+
     ProductResponse getProductById(Long id);
 
+    ProductJson getProductJsonById(Long id);
+
+    List<ProductResponse> getProductsByIds(List<Long> ids);
+
     boolean verifyStock(Long id, int quantity);
 
     List<ProductResponse> searchProducts(String keyword);
@@ -45,8 +55,6 @@ public interface ProductService {
 
     void deleteProduct(Long id);
 
-    void deleteAllProductsByCategoryId(Long categoryId);
-
     void reduceStock(Long id, int quantity);
     void replenishStock(Long id, int quantity);
 }
\ No newline at end of file
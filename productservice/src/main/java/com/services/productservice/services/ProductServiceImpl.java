@@ -2,20 +2,28 @@ package com.services.productservice.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.common.dtos.CursorPage;
 import com.services.common.dtos.ProductResponse;
+import com.services.productservice.dtos.ProductJson;
 import com.services.productservice.dtos.ProductRequest;
 import com.services.productservice.exceptions.ProductNotFoundException;
 import com.services.productservice.exceptions.NotFoundException;
 import com.services.productservice.exceptions.InsufficientStockException;
+import com.services.productservice.events.ProductChangedEvent;
 import com.services.productservice.models.Category;
-import com.services.productservice.models.CategoryDocument;
 import com.services.productservice.models.Product;
 import com.services.productservice.models.ProductDocument;
 import com.services.productservice.repositories.CategoryRepository;
+import com.services.productservice.repositories.InventoryHoldRepository;
 import com.services.productservice.repositories.ProductElasticsearchRepository;
 import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.utils.CursorUtils;
+import com.services.productservice.utils.PayloadLogger;
+import com.services.productservice.utils.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,8 +33,13 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,21 +49,31 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final ProductElasticsearchRepository productElasticsearchRepository;
     private final CategoryRepository categoryRepository;
+    private final InventoryHoldRepository inventoryHoldRepository;
     // private final RestTemplate restTemplate;
     private final RedisTemplate<Long, Object> redisTemplate;
     private final CacheService cacheService;
+    private final ProductIndexOutbox productIndexOutbox;
+    private final ProductChangeOutbox productChangeOutbox;
+    private final ObjectProvider<HotStockService> hotStockService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<SearchResultCache> searchResultCache;
+    private final ProductNearCache nearCache;
+    // Spring's mapper, so cached bodies match what the message converters would write
+    private final ObjectMapper responseMapper;
+    private final PayloadLogger payloadLogger;
+    private final SingleFlight<Long, ProductResponse> productLoads = new SingleFlight<>();
 
     private static final Logger logger = LoggerFactory.getLogger(ProductServiceImpl.class);
 
     @Override
+    @Transactional
     public ProductResponse createProduct(ProductRequest request) {
-        logger.info("Category passed: {}", request.getCategory());
         Category category = categoryRepository.findByName(request.getCategory()).orElseGet(() -> {
             Category category1 = new Category();
             category1.setName(request.getCategory());
             return categoryRepository.save(category1);
         });
-        logger.info("Final Category: {}", category.toString());
 
         Product product = Product.builder()
                 .name(request.getName())
@@ -64,31 +87,15 @@ public class ProductServiceImpl implements ProductService {
 
         Product savedProduct = productRepository.save(product);
 
-        ProductDocument productDocument = ProductDocument.builder()
-                .id(savedProduct.getId().toString())
-                .name(savedProduct.getName())
-                .description(savedProduct.getDescription())
-                .price(savedProduct.getPrice())
-                .category(CategoryDocument.builder()
-                        .id(category.getId())
-                        .name(category.getName())
-                        .build())
-                .brand(savedProduct.getBrand())
-                .stockQuantity(savedProduct.getStockQuantity())
-                .imageUrl(savedProduct.getImageUrl())
-                .build();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            logger.info("Saving to Elasticsearch:\n{}",
-                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(productDocument));
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize productDocument", e);
-        }
-        logger.info("Saving to elastic search: {}", category.toString());
-
-        productElasticsearchRepository.save(productDocument);
-        return mapToResponse(savedProduct);
+        // Indexed by ProductOutboxRelay once this transaction commits. Creates are not
+        // published as change events, see ProductChangeOutbox.
+        productIndexOutbox.enqueueUpsert(savedProduct.getId());
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), false));
+        // Clears any tombstone left by lookups of this id before it existed
+        cacheService.evictProductAfterCommit(redisTemplate, savedProduct.getId());
+        ProductResponse response = mapToResponse(savedProduct);
+        payloadLogger.log("created", savedProduct.getId(), response);
+        return response;
     }
 
     @Override
@@ -104,32 +111,151 @@ public class ProductServiceImpl implements ProductService {
 
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getProductsAfter(String after, int limit) {
+        long afterId = CursorUtils.decode(after);
+        return toCursorPage(productRepository.findNextPageAfter(afterId, PageRequest.of(0, limit + 1)), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getProductsByCategoryAfter(String categoryName, String after, int limit) {
+        long afterId = CursorUtils.decode(after);
+        return categoryRepository.findByName(categoryName)
+                .map(category -> toCursorPage(
+                        productRepository.findNextPageInCategory(category, afterId, PageRequest.of(0, limit + 1)),
+                        limit))
+                .orElseGet(() -> new CursorPage<>(List.of(), null, false));
+    }
+
+    // One extra row is fetched to learn whether another page exists without counting
+    private CursorPage<ProductResponse> toCursorPage(List<Product> products, int limit) {
+        boolean hasNext = products.size() > limit;
+        List<Product> page = hasNext ? products.subList(0, limit) : products;
+        String nextCursor = hasNext ? CursorUtils.encode(page.get(page.size() - 1).getId()) : null;
+        return new CursorPage<>(page.stream().map(this::mapToResponse).collect(Collectors.toList()),
+                nextCursor, hasNext);
+    }
+
     @Override
     public ProductResponse getProductById(Long id) {
-        if (cacheService.isProductCached(redisTemplate, id)) {
-            logger.info("Product found in cache");
-            try {
-                ProductResponse product = cacheService.getProductFromCache(redisTemplate, id);
-                return product;
-            } catch (Exception e) {
-                cacheService.deleteProductFromCache(redisTemplate, id);
+        try {
+            CacheService.ProductLookup cached = cacheService.lookupProduct(redisTemplate, id);
+            if (cached.missing()) {
+                throw new ProductNotFoundException("Product not found");
+            }
+            if (cached.product() != null) {
+                logger.debug("Product {} found in cache", id);
+                if (cached.refreshEarly()) {
+                    // Only the first caller reloads; the rest keep serving the cached copy meanwhile
+                    ProductResponse refreshed = productLoads.tryExecute(id, () -> loadProduct(id));
+                    return refreshed != null ? refreshed : cached.product();
+                }
+                return cached.product();
+            }
+        } catch (ProductNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            cacheService.deleteProductFromCache(redisTemplate, id);
+        }
+        // Concurrent misses for the same id share one database load
+        return productLoads.execute(id, () -> loadProductIfStillMissing(id));
+    }
+
+    /**
+     * Checks the cache again before loading, since a caller that missed just
+     * as the previous flight finished would otherwise load the product again.
+     */
+    private ProductResponse loadProductIfStillMissing(Long id) {
+        try {
+            CacheService.ProductLookup cached = cacheService.lookupProduct(redisTemplate, id);
+            if (cached.missing()) {
+                throw new ProductNotFoundException("Product not found");
+            }
+            if (cached.product() != null) {
+                return cached.product();
             }
+        } catch (ProductNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.warn("Cache re-check failed for product {}, loading from database", id, e);
         }
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
-        ObjectMapper objectMapper = new ObjectMapper();
+        return loadProduct(id);
+    }
+
+    /**
+     * The product's response body, rendered once and then served from the
+     * near cache until the product is evicted.
+     */
+    @Override
+    public ProductJson getProductJsonById(Long id) {
+        ProductJson json = nearCache.getJson(id);
+        if (json != null) {
+            return json;
+        }
+        ProductResponse product = getProductById(id);
         try {
-            logger.info("Product found with id {}:\n{}", id,
-                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(product));
+            json = ProductJson.of(responseMapper.writeValueAsBytes(product));
         } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize product 1.1: {}", e, product.getCategory().toString());
+            throw new IllegalStateException("Failed to render product " + id, e);
+        }
+        nearCache.putJson(id, json);
+        return json;
+    }
+
+    private ProductResponse loadProduct(Long id) {
+        long started = System.currentTimeMillis();
+        Product product = productRepository.findById(id).orElse(null);
+        if (product == null) {
+            try {
+                cacheService.cacheMissing(redisTemplate, id);
+            } catch (Exception e) {
+                logger.warn("Failed to cache tombstone for product {}", id, e);
+            }
+            throw new ProductNotFoundException("Product not found");
         }
-        // return product;
         ProductResponse response = mapToResponse(product);
-        cacheService.cacheProduct(redisTemplate, id, response);
+        payloadLogger.log("loaded", id, response);
+        cacheService.cacheProduct(redisTemplate, id, response, System.currentTimeMillis() - started);
         return response;
     }
 
+    @Override
+    public List<ProductResponse> getProductsByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+
+        Map<Long, ProductResponse> found = new HashMap<>();
+        try {
+            found.putAll(cacheService.getProducts(redisTemplate, distinctIds));
+        } catch (Exception e) {
+            logger.warn("Batch cache lookup failed, falling back to database", e);
+        }
+
+        List<Long> missing = distinctIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            long started = System.currentTimeMillis();
+            Map<Long, ProductResponse> loaded = new HashMap<>();
+            for (Product product : productRepository.findAllById(missing)) {
+                loaded.put(product.getId(), mapToResponse(product));
+            }
+            try {
+                cacheService.cacheProducts(redisTemplate, loaded, System.currentTimeMillis() - started);
+            } catch (Exception e) {
+                logger.warn("Failed to write back {} products to cache", loaded.size(), e);
+            }
+            found.putAll(loaded);
+        }
+
+        // Unknown ids are left out; callers compare against what they asked for
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<ProductResponse> searchProducts(String keyword) {
         return productElasticsearchRepository.findByNameFuzzy(keyword, Pageable.unpaged()).stream()
@@ -150,15 +276,24 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public void updateProduct(Long id, ProductRequest request) {
         Category category = categoryRepository.findByName(request.getCategory()).orElseGet(() -> {
             Category category1 = new Category();
             category1.setName(request.getCategory());
             return categoryRepository.save(category1);
         });
-        Product product = productRepository.findById(id)
+        // Locked so a hot-stock flush or promote cannot move the stock between the read and the write
+        Product product = productRepository.findAllByIdForUpdate(List.of(id)).stream().findFirst()
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
+        List<String> changed = changedFields(product, request);
+        HotStockService hotStock = hotStockService.getIfAvailable();
+        if (hotStock != null && changed.contains(ProductChangeOutbox.STOCK_QUANTITY)) {
+            // A hot SKU sells from its Redis count, which moves by the same amount as the edit
+            hotStock.adjust(id, Objects.requireNonNullElse(request.getStockQuantity(), 0)
+                    - Objects.requireNonNullElse(product.getStockQuantity(), 0));
+        }
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setPrice(request.getPrice());
@@ -169,25 +304,14 @@ public class ProductServiceImpl implements ProductService {
 
         Product savedProduct = productRepository.save(product);
 
-        // Retrieve the ProductDocument from Elasticsearch if it exists
-        ProductDocument productDocument = productElasticsearchRepository.findById(savedProduct.getId().toString())
-                .orElse(ProductDocument.builder().id(savedProduct.getId().toString()).build());
-
-        productDocument.setName(savedProduct.getName());
-        productDocument.setDescription(savedProduct.getDescription());
-        productDocument.setPrice(savedProduct.getPrice());
-        productDocument.setCategory(CategoryDocument.builder()
-                .id(category.getId())
-                .name(category.getName())
-                .build());
-        productDocument.setBrand(savedProduct.getBrand());
-        productDocument.setStockQuantity(savedProduct.getStockQuantity());
-        productDocument.setImageUrl(savedProduct.getImageUrl());
-
-        productElasticsearchRepository.save(productDocument);
+        productIndexOutbox.enqueueUpsert(savedProduct.getId());
+        productChangeOutbox.enqueueChange(savedProduct.getId(), changed);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), false));
+        cacheService.evictProductAfterCommit(redisTemplate, id);
     }
 
     @Override
+    @Transactional
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found"));
@@ -198,42 +322,105 @@ public class ProductServiceImpl implements ProductService {
 
         // Now delete the product
         productRepository.deleteById(id);
-        productElasticsearchRepository.deleteById(id.toString());
+        productIndexOutbox.enqueueDelete(id, product.getVersion());
+        productChangeOutbox.enqueueDelete(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, true));
+        cacheService.evictProductAfterCommit(redisTemplate, id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean verifyStock(Long id, int quantity) {
+        HotStockService hotStock = hotStockService.getIfAvailable();
+        Integer hotAvailable = hotStock != null ? hotStock.available(id) : null;
+        if (hotAvailable != null) {
+            return hotAvailable >= quantity;
+        }
+
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
 
-        return product.getStockQuantity() >= quantity;
+        // Stock held by open reservations is not available to sell
+        int onHand = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+        return onHand - inventoryHoldRepository.sumActiveHeldQuantity(id, LocalDateTime.now()) >= quantity;
     }
 
     @Override
     @Transactional
     public void reduceStock(Long id, int quantity) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
-        if (product.getStockQuantity() < quantity) {
-            throw new InsufficientStockException(id, quantity, product.getStockQuantity());
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
         }
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
-        // Optionally update Elasticsearch and cache here
+        HotStockService hotStock = hotStockService.getIfAvailable();
+        if (hotStock != null) {
+            // Hot SKUs are decremented in Redis and flushed to MySQL in batches
+            long remaining = hotStock.decrement(id, quantity);
+            if (remaining == HotStockService.INSUFFICIENT) {
+                Integer available = hotStock.available(id);
+                throw new InsufficientStockException(id, quantity, available != null ? available : 0);
+            }
+            if (remaining >= 0) {
+                return;
+            }
+        }
+        // Single conditional UPDATE; the row count tells us whether it applied
+        if (productRepository.decrementStock(id, quantity, LocalDateTime.now()) == 0) {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+            int available = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+            throw new InsufficientStockException(id, quantity, available);
+        }
+        productChangeOutbox.enqueueStockChanges(List.of(id));
+        cacheService.evictProductAfterCommit(redisTemplate, id);
     }
 
     @Override
     @Transactional
     public void replenishStock(Long id, int quantity) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
-        product.setStockQuantity(product.getStockQuantity() + quantity);
-        productRepository.save(product);
-        // Optionally update Elasticsearch and cache here
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (productRepository.incrementStock(id, quantity) == 0) {
+            throw new ProductNotFoundException("Product not found");
+        }
+        productChangeOutbox.enqueueStockChanges(List.of(id));
+        HotStockService hotStock = hotStockService.getIfAvailable();
+        if (hotStock != null) {
+            hotStock.restoreAfterCommit(Map.of(id, quantity));
+        }
+        cacheService.evictProductAfterCommit(redisTemplate, id);
     }
 
-    private ProductResponse mapToResponse(Product product) {
+    /** Names, as in {@link ProductResponse}, of the fields the request changes. */
+    private static List<String> changedFields(Product product, ProductRequest request) {
+        List<String> changed = new ArrayList<>();
+        if (!Objects.equals(product.getName(), request.getName())) {
+            changed.add("name");
+        }
+        if (!Objects.equals(product.getDescription(), request.getDescription())) {
+            changed.add("description");
+        }
+        if (!Objects.equals(product.getPrice(), request.getPrice())) {
+            changed.add("price");
+        }
+        String category = product.getCategory() != null ? product.getCategory().getName() : null;
+        if (!Objects.equals(category, request.getCategory())) {
+            changed.add("category");
+        }
+        if (!Objects.equals(product.getBrand(), request.getBrand())) {
+            changed.add("brand");
+        }
+        if (!Objects.equals(product.getStockQuantity(), request.getStockQuantity())) {
+            changed.add(ProductChangeOutbox.STOCK_QUANTITY);
+        }
+        if (!Objects.equals(product.getImageUrl(), request.getImageUrl())) {
+            changed.add("imageUrl");
+        }
+        return changed;
+    }
+
+    // Public for productservice-benchmarks
+    public ProductResponse mapToResponse(Product product) {
 
         // Category category =
         // categoryRepository.findByName(product.getCategory().getName())
@@ -251,7 +438,7 @@ public class ProductServiceImpl implements ProductService {
                 .build();
     }
 
-    private ProductResponse mapToResponseFromDocument(ProductDocument product) {
+    public ProductResponse mapToResponseFromDocument(ProductDocument product) {
         // Category category =
         // categoryRepository.findById(product.getCategory().getId())
         // .orElseGet(() -> {
@@ -303,10 +490,15 @@ public class ProductServiceImpl implements ProductService {
             Double maxPrice,
             int pageNumber,
             int pageSize) {
-        Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return productElasticsearchRepository.findByCategoryNameAndBrandAndPriceBetween(
-                categoryName, brand, minPrice, maxPrice, pageable)
-                .map(this::mapToResponseFromDocument);
+        Map<String, Object> params = new HashMap<>();
+        params.put("category", categoryName);
+        params.put("brand", brand);
+        params.put("minPrice", minPrice);
+        params.put("maxPrice", maxPrice);
+        return cachedSearch("criteria", params, pageNumber, pageSize,
+                () -> productElasticsearchRepository.findByCategoryNameAndBrandAndPriceBetween(
+                        categoryName, brand, minPrice, maxPrice, PageRequest.of(pageNumber, pageSize))
+                        .map(this::mapToResponseFromDocument));
     }
 
     public Page<ProductResponse> searchByStockAvailability(Integer minQuantity, int pageNumber, int pageSize) {
@@ -316,19 +508,14 @@ public class ProductServiceImpl implements ProductService {
     }
 
     public Page<ProductResponse> fullTextSearch(String text, int pageNumber, int pageSize) {
-        Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return productElasticsearchRepository.searchByText(text, pageable)
-                .map(this::mapToResponseFromDocument);
+        return cachedSearch("full-text", Map.of("text", text), pageNumber, pageSize,
+                () -> productElasticsearchRepository.searchByText(text, PageRequest.of(pageNumber, pageSize))
+                        .map(this::mapToResponseFromDocument));
     }
 
-    @Override
-    public void deleteAllProductsByCategoryId(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new NotFoundException("Category not found"));
-        List<Product> products = productRepository.findByCategory(category, Pageable.unpaged()).getContent();
-        for (Product product : products) {
-            productRepository.deleteById(product.getId());
-            productElasticsearchRepository.deleteById(product.getId().toString());
-        }
+    private Page<ProductResponse> cachedSearch(String query, Map<String, Object> params, int pageNumber,
+            int pageSize, Supplier<Page<ProductResponse>> search) {
+        SearchResultCache cache = searchResultCache.getIfAvailable();
+        return cache != null ? cache.getOrSearch(query, params, pageNumber, pageSize, search) : search.get();
     }
 }
@@ -0,0 +1,36 @@
+package com.services.productservice.services;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.services.productservice.events.ProductsImportedEvent;
+
+/**
+ * Rebuilds the suggest index off the event thread. Kept apart from
+ * {@link ProductSuggestServiceImpl} because that bean is proxied through its
+ * interface, which cannot expose {@code @Async} listener methods.
+ */
+@Component
+public class ProductSuggestIndexLoader {
+
+    private final ProductSuggestService productSuggestService;
+
+    public ProductSuggestIndexLoader(ProductSuggestService productSuggestService) {
+        this.productSuggestService = productSuggestService;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        productSuggestService.rebuild();
+    }
+
+    // Cheaper than re-ranking the index once per imported product
+    @Async
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        productSuggestService.rebuild();
+    }
+}
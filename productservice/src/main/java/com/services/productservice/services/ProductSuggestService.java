@@ -0,0 +1,15 @@
+package com.services.productservice.services;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.services.productservice.dtos.ProductSuggestion;
+
+public interface ProductSuggestService {
+    List<ProductSuggestion> suggest(String prefix, int limit);
+
+    void rebuild();
+
+    /** Reloads the products from MySQL, dropping those that no longer exist. */
+    void refresh(Collection<Long> productIds);
+}
@@ -0,0 +1,226 @@
+package com.services.productservice.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.services.productservice.dtos.ProductSuggestion;
+import com.services.productservice.events.ProductChangedEvent;
+import com.services.productservice.events.ProductsDeletedEvent;
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ReservationStatus;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.repositories.StockReservationRepository;
+import com.services.productservice.utils.PrefixIndex;
+
+/**
+ * Serves typeahead from an in-process {@link PrefixIndex} over product names
+ * and brands, ranked by units sold through committed reservations.
+ *
+ * <p>Each replica holds its own index. It is built from a keyset scan of the
+ * products table at startup and after bulk imports, by
+ * {@link ProductSuggestIndexLoader}, and again on a schedule, which also
+ * refreshes the popularity scores. In between, this replica's
+ * {@link ProductChangedEvent}s update single products once their
+ * transaction commits, and {@link ProductSuggestSync} applies the changes
+ * made on the other replicas. Products changed while a rebuild is scanning
+ * are replayed into the new index after it is swapped in.
+ */
+@Service
+public class ProductSuggestServiceImpl implements ProductSuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestServiceImpl.class);
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxResults;
+    private final int maxPrefixLength;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixIndex index;
+    private Map<Long, ProductSuggestion> suggestions = new HashMap<>();
+    private Map<Long, Long> popularity = new HashMap<>();
+    private boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public ProductSuggestServiceImpl(ProductRepository productRepository,
+            StockReservationRepository stockReservationRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.suggest.batch-size:1000}") int batchSize,
+            @Value("${product.suggest.max-results:10}") int maxResults,
+            @Value("${product.suggest.max-prefix-length:32}") int maxPrefixLength) {
+        this.productRepository = productRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        // Read-write so reloads go to the primary; a lagging replica could drop a product just created
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Change events are handled after commit, while the finished transaction is still bound
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxResults = maxResults;
+        this.maxPrefixLength = maxPrefixLength;
+        this.index = new PrefixIndex(maxResults, maxPrefixLength);
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            long[] ids = index.lookup(prefix, Math.min(limit, maxResults));
+            List<ProductSuggestion> result = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                result.add(suggestions.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${product.suggest.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${product.suggest.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Map<Long, Long> scores = transactionTemplate.execute(status -> stockReservationRepository
+                    .sumQuantitiesByStatus(ReservationStatus.COMMITTED).stream()
+                    .collect(Collectors.toMap(StockReservationRepository.SoldQuantity::getProductId,
+                            StockReservationRepository.SoldQuantity::getQuantity)));
+            PrefixIndex fresh = new PrefixIndex(maxResults, maxPrefixLength);
+            Map<Long, ProductSuggestion> freshSuggestions = new HashMap<>();
+            long afterId = 0;
+            while (true) {
+                long cursor = afterId;
+                List<Product> page = transactionTemplate.execute(
+                        status -> productRepository.findNextPageAfter(cursor, PageRequest.of(0, batchSize)));
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                for (Product product : page) {
+                    fresh.bulkPut(product.getId(), List.of(nullToEmpty(product.getName()),
+                            nullToEmpty(product.getBrand())), scores.getOrDefault(product.getId(), 0L));
+                    freshSuggestions.put(product.getId(), toSuggestion(product));
+                }
+                afterId = page.get(page.size() - 1).getId();
+            }
+            fresh.rankAll();
+
+            lock.writeLock().lock();
+            try {
+                index = fresh;
+                suggestions = freshSuggestions;
+                popularity = scores;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Suggest index rebuilt with {} products in {} ms", freshSuggestions.size(),
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            logger.error("Suggest index rebuild failed, keeping the previous index", e);
+        } finally {
+            List<Long> replay;
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                replay = new ArrayList<>(changedDuringRebuild);
+                changedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!replay.isEmpty()) {
+                apply(replay);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            if (event.isDeleted()) {
+                update(Map.of(), List.of(event.getProductId()));
+            } else {
+                apply(List.of(event.getProductId()));
+            }
+        } catch (Exception e) {
+            // The next scheduled rebuild picks the change up
+            logger.warn("Failed to update suggest index for product {}", event.getProductId(), e);
+        }
+    }
+
+    @EventListener
+    public void onProductsDeleted(ProductsDeletedEvent event) {
+        update(Map.of(), event.getProductIds());
+    }
+
+    @Override
+    public void refresh(Collection<Long> productIds) {
+        apply(new ArrayList<>(productIds));
+    }
+
+    private void apply(List<Long> productIds) {
+        Map<Long, Product> products = transactionTemplate.execute(status -> productRepository
+                .findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity())));
+        update(products != null ? products : Map.of(), productIds);
+    }
+
+    /** Upserts the loaded products and removes the ids that were not found. */
+    private void update(Map<Long, Product> products, List<Long> productIds) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.addAll(productIds);
+            }
+            for (Long id : productIds) {
+                Product product = products.get(id);
+                if (product == null) {
+                    index.remove(id);
+                    suggestions.remove(id);
+                } else {
+                    index.put(id, List.of(nullToEmpty(product.getName()), nullToEmpty(product.getBrand())),
+                            popularity.getOrDefault(id, 0L));
+                    suggestions.put(id, toSuggestion(product));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static ProductSuggestion toSuggestion(Product product) {
+        return new ProductSuggestion(product.getId(), product.getName(), product.getBrand());
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
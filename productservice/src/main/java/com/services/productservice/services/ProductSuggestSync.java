@@ -0,0 +1,98 @@
+package com.services.productservice.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.services.productservice.events.ProductChangedEvent;
+import com.services.productservice.events.ProductsDeletedEvent;
+import com.services.productservice.events.ProductsImportedEvent;
+
+/**
+ * Carries suggest index changes to the other replicas over Redis pub/sub.
+ * Each replica applies its own changes from the in-process events and also
+ * publishes them on {@link #CHANNEL} once they commit. The others reload the
+ * changed products from MySQL, or rebuild after a bulk import. A message
+ * missed while a replica was disconnected is picked up by its next
+ * scheduled rebuild.
+ *
+ * <p>Messages are {@code "<instance id> <comma-separated product ids>"} or
+ * {@code "<instance id> rebuild"}.
+ */
+@Component
+@ConditionalOnProperty(name = "product.suggest.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductSuggestSync implements MessageListener {
+
+    public static final String CHANNEL = "product-suggest-changes";
+    private static final String REBUILD = "rebuild";
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestSync.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ProductSuggestService productSuggestService;
+    // Lets a replica skip its own messages, which it has already applied
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public ProductSuggestSync(StringRedisTemplate stringRedisTemplate, ProductSuggestService productSuggestService) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.productSuggestService = productSuggestService;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        publish(event.getProductId().toString());
+    }
+
+    @EventListener
+    public void onProductsDeleted(ProductsDeletedEvent event) {
+        publish(event.getProductIds().stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        publish(REBUILD);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(' ');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        String change = body.substring(separator + 1);
+        try {
+            if (REBUILD.equals(change)) {
+                productSuggestService.rebuild();
+            } else {
+                List<Long> productIds = Arrays.stream(change.split(","))
+                        .map(Long::valueOf)
+                        .collect(Collectors.toList());
+                productSuggestService.refresh(productIds);
+            }
+        } catch (Exception e) {
+            // The next scheduled rebuild picks the change up
+            logger.warn("Failed to apply suggest index change '{}' from another replica", change, e);
+        }
+    }
+
+    private void publish(String change) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, instanceId + " " + change);
+        } catch (Exception e) {
+            logger.warn("Failed to publish suggest index change '{}' to the other replicas", change, e);
+        }
+    }
+}
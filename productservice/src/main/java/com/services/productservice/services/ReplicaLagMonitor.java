@@ -0,0 +1,41 @@
+package com.services.productservice.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.services.productservice.utils.ReplicaRoutingDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Re-checks replica lag on a fixed delay so read-only transactions leave a
+ * replica that falls behind and return once it catches up.
+ */
+@Component
+@ConditionalOnProperty(name = "product.datasource.replica.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource, MeterRegistry meterRegistry) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+        for (String replica : replicaRoutingDataSource.getReplicaNames()) {
+            Gauge.builder("product.datasource.replica.lag.seconds", replicaRoutingDataSource,
+                    routing -> routing.getLagSeconds(replica))
+                    .tag("replica", replica)
+                    .description("Replication lag at the last check, -1 when unknown")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("product.datasource.replica.usable", replicaRoutingDataSource,
+                routing -> routing.getUsableReplicas().size())
+                .description("Replicas currently taking read-only transactions")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${product.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        replicaRoutingDataSource.refreshLag();
+    }
+}
@@ -0,0 +1,207 @@
+package com.services.productservice.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.common.dtos.ProductResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Caches search result pages in Redis under a key built from the normalized
+ * query and the current catalog version. Bumping the version makes every
+ * older entry unreachable at once; they are never scanned or deleted, just
+ * left to expire.
+ *
+ * <p>The version is bumped when the outbox relay or a reindex changes the
+ * search index, not when MySQL commits, since a search in between would
+ * cache the old results under the new version. Entries are also not stored
+ * while the index may still be refreshing after a bump.
+ */
+@Component
+@ConditionalOnProperty(name = "product.search.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SearchResultCache {
+
+    static final String VERSION_KEY = "search:catalog-version";
+    static final String BUMPED_AT_KEY = "search:catalog-version:bumped-at";
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration ttl;
+    private final long settleMs;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> searchTimers = new ConcurrentHashMap<>();
+    // Estimated Elasticsearch time avoided by hits, in microseconds
+    private final AtomicLong savedMicros = new AtomicLong();
+
+    public SearchResultCache(StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${product.search.cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${product.search.cache.settle-ms:2000}") long settleMs) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.settleMs = settleMs;
+        this.hits = Counter.builder("product.search.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("product.search.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("product.search.cache.hit.ratio", this, SearchResultCache::hitRatio)
+                .register(meterRegistry);
+        FunctionCounter.builder("product.search.cache.saved", savedMicros, micros -> micros.get() / 1_000_000.0)
+                .baseUnit("seconds")
+                .description("Elasticsearch time avoided by cache hits, estimated from the mean search latency")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached page for the query, or runs {@code search} and caches
+     * its result. Null parameters are left out of the key and the rest are
+     * sorted and lower-cased, so equivalent requests share an entry.
+     */
+    public Page<ProductResponse> getOrSearch(String query, Map<String, Object> params, int pageNumber,
+            int pageSize, Supplier<Page<ProductResponse>> search) {
+        Timer timer = searchTimers.computeIfAbsent(query, name -> Timer.builder("product.search.es")
+                .tag("query", name)
+                .description("Elasticsearch latency of cache misses")
+                .register(meterRegistry));
+
+        CatalogVersion version = currentVersion();
+        String key = version != null ? key(version.number, query, params, pageNumber, pageSize) : null;
+        if (key != null) {
+            Page<ProductResponse> cached = read(key, pageNumber, pageSize);
+            if (cached != null) {
+                hits.increment();
+                savedMicros.addAndGet((long) timer.mean(TimeUnit.MICROSECONDS));
+                return cached;
+            }
+        }
+        misses.increment();
+
+        Page<ProductResponse> result = timer.record(search);
+        if (key != null && System.currentTimeMillis() - version.bumpedAt >= settleMs) {
+            write(key, result);
+        }
+        return result;
+    }
+
+    /** Makes every cached page unreachable. */
+    public void bumpVersion() {
+        try {
+            stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+            stringRedisTemplate.opsForValue().set(BUMPED_AT_KEY, String.valueOf(System.currentTimeMillis()));
+        } catch (Exception e) {
+            logger.error("Failed to bump the search catalog version", e);
+        }
+    }
+
+    private CatalogVersion currentVersion() {
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(List.of(VERSION_KEY, BUMPED_AT_KEY));
+            if (values == null) {
+                return null;
+            }
+            String number = values.get(0);
+            String bumpedAt = values.get(1);
+            return new CatalogVersion(number != null ? Long.parseLong(number) : 0,
+                    bumpedAt != null ? Long.parseLong(bumpedAt) : 0);
+        } catch (Exception e) {
+            logger.warn("Search cache unavailable, querying Elasticsearch directly", e);
+            return null;
+        }
+    }
+
+    private Page<ProductResponse> read(String key, int pageNumber, int pageSize) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(key);
+            if (json == null) {
+                return null;
+            }
+            CachedPage page = objectMapper.readValue(json, CachedPage.class);
+            return new PageImpl<>(page.getContent(), PageRequest.of(pageNumber, pageSize), page.getTotal());
+        } catch (Exception e) {
+            logger.warn("Unreadable search cache entry {}", key, e);
+            return null;
+        }
+    }
+
+    private void write(String key, Page<ProductResponse> page) {
+        try {
+            String json = objectMapper.writeValueAsString(new CachedPage(page.getContent(), page.getTotalElements()));
+            stringRedisTemplate.opsForValue().set(key, json, ttl);
+        } catch (Exception e) {
+            logger.warn("Failed to cache search result {}", key, e);
+        }
+    }
+
+    static String key(long version, String query, Map<String, Object> params, int pageNumber, int pageSize) {
+        SortedMap<String, String> normalized = new TreeMap<>();
+        params.forEach((name, value) -> {
+            if (value != null) {
+                normalized.put(name, normalize(value));
+            }
+        });
+        String canonical = query + "?" + normalized.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("&"))
+                + "&page=" + pageNumber + "&size=" + pageSize;
+        return "search:" + version + ":" + DigestUtils.md5DigestAsHex(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String normalize(Object value) {
+        if (value instanceof String text) {
+            return String.join(" ", Arrays.asList(text.trim().toLowerCase(Locale.ROOT).split("\\s+")));
+        }
+        return value.toString();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record CatalogVersion(long number, long bumpedAt) {
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedPage {
+        private List<ProductResponse> content;
+        private long total;
+    }
+}
@@ -0,0 +1,14 @@
+package com.services.productservice.services;
+
+import com.services.common.dtos.StockReservationRequest;
+import com.services.common.dtos.StockReservationResponse;
+
+public interface StockReservationService {
+    StockReservationResponse reserve(StockReservationRequest request);
+
+    StockReservationResponse getReservation(String reservationId);
+
+    StockReservationResponse commit(String reservationId);
+
+    StockReservationResponse release(String reservationId);
+}
@@ -0,0 +1,242 @@
+package com.services.productservice.services;
+
+import com.services.common.dtos.StockReservationItemDTO;
+import com.services.common.dtos.StockReservationRequest;
+import com.services.common.dtos.StockReservationResponse;
+import com.services.productservice.exceptions.InsufficientStockException;
+import com.services.productservice.exceptions.InvalidReservationStateException;
+import com.services.productservice.exceptions.NotFoundException;
+import com.services.productservice.exceptions.ProductNotFoundException;
+import com.services.productservice.models.InventoryHold;
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ReservationStatus;
+import com.services.productservice.models.StockReservation;
+import com.services.productservice.models.StockReservationItem;
+import com.services.productservice.repositories.InventoryHoldRepository;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.repositories.StockReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reservations place time-bounded holds on stock instead of decrementing it.
+ * Available-to-sell is on-hand stock minus unexpired holds, so an abandoned
+ * checkout gives its stock back as soon as the hold expires. Stock is only
+ * taken from {@code products} when the reservation is committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final RedisTemplate<Long, Object> redisTemplate;
+    private final CacheService cacheService;
+    private final ProductChangeOutbox productChangeOutbox;
+    private final ObjectProvider<HotStockService> hotStockService;
+
+    @Value("${product.holds.default-ttl-seconds:900}")
+    private long defaultHoldSeconds;
+
+    @Value("${product.holds.max-ttl-seconds:3600}")
+    private long maxHoldSeconds;
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationServiceImpl.class);
+
+    @Override
+    @Transactional
+    public StockReservationResponse reserve(StockReservationRequest request) {
+        // Duplicate lines are merged; TreeMap keeps ids sorted to match the lock order
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (StockReservationItemDTO item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        // Locking the product rows serializes reservations for the same products,
+        // so two checkouts cannot both count the same unheld stock
+        Map<Long, Product> products = productRepository.findAllByIdForUpdate(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Hot SKUs are checked against their Redis count instead of the holds table
+        HotStockService hotStock = hotStockService.getIfAvailable();
+        Set<Long> hotIds = hotStock != null ? hotStock.hotProductIds(quantities.keySet()) : Set.of();
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> held = inventoryHoldRepository.sumActiveHeldQuantities(quantities.keySet(), now).stream()
+                .collect(Collectors.toMap(InventoryHoldRepository.HeldQuantity::getProductId,
+                        InventoryHoldRepository.HeldQuantity::getQuantity));
+
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new ProductNotFoundException("Product not found with ID: " + productId);
+            }
+            if (hotIds.contains(productId)) {
+                return;
+            }
+            int onHand = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+            int available = (int) Math.max(0, onHand - held.getOrDefault(productId, 0L));
+            if (available < quantity) {
+                throw new InsufficientStockException(productId, quantity, available);
+            }
+        });
+        if (!hotIds.isEmpty()) {
+            hotStock.take(quantities.entrySet().stream()
+                    .filter(e -> hotIds.contains(e.getKey()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+        }
+
+        long holdSeconds = request.getHoldSeconds() != null
+                ? Math.min(request.getHoldSeconds(), maxHoldSeconds)
+                : defaultHoldSeconds;
+        StockReservation reservation = StockReservation.builder()
+                .id(UUID.randomUUID().toString())
+                .status(ReservationStatus.RESERVED)
+                .createdAt(now)
+                .updatedAt(now)
+                .expiresAt(now.plusSeconds(holdSeconds))
+                .build();
+
+        List<InventoryHold> holds = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            reservation.getItems().add(StockReservationItem.builder()
+                    .reservation(reservation)
+                    .productId(productId)
+                    .quantity(quantity)
+                    .build());
+            holds.add(InventoryHold.builder()
+                    .reservation(reservation)
+                    .productId(productId)
+                    .quantity(quantity)
+                    .expiresAt(reservation.getExpiresAt())
+                    .build());
+        });
+
+        stockReservationRepository.save(reservation);
+        inventoryHoldRepository.saveAll(holds);
+        logger.info("Held {} products under reservation {} until {}", quantities.size(), reservation.getId(),
+                reservation.getExpiresAt());
+        return mapToResponse(reservation);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockReservationResponse getReservation(String reservationId) {
+        return stockReservationRepository.findById(reservationId)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new NotFoundException("Reservation not found"));
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse commit(String reservationId) {
+        StockReservation reservation = lockReservation(reservationId);
+        switch (reservation.getStatus()) {
+            case COMMITTED:
+                return mapToResponse(reservation);
+            case RELEASED:
+            case EXPIRED:
+                throw new InvalidReservationStateException(reservationId, reservation.getStatus().name(), "commit");
+            default:
+                break;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!reservation.getExpiresAt().isAfter(now)) {
+            throw new InvalidReservationStateException(reservationId, ReservationStatus.EXPIRED.name(), "commit");
+        }
+
+        // The bulk updates below clear the persistence context, so read the items and
+        // change the status first; the status change is flushed with the first update
+        List<StockReservationItem> items = new ArrayList<>(reservation.getItems());
+        reservation.setStatus(ReservationStatus.COMMITTED);
+        reservation.setUpdatedAt(now);
+
+        // Drop our own holds first so the guarded decrement only protects other holds
+        inventoryHoldRepository.deleteByReservationIds(List.of(reservationId));
+        for (StockReservationItem item : items) {
+            if (productRepository.decrementStock(item.getProductId(), item.getQuantity(), now) == 0) {
+                // Only reachable if stock was removed outside the reservation flow
+                throw new InsufficientStockException(item.getProductId(), item.getQuantity(), 0);
+            }
+            cacheService.evictProductAfterCommit(redisTemplate, item.getProductId());
+        }
+        productChangeOutbox.enqueueStockChanges(items.stream()
+                .map(StockReservationItem::getProductId)
+                .collect(Collectors.toList()));
+        logger.info("Committed reservation {}", reservationId);
+        return mapToResponse(reservation);
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse release(String reservationId) {
+        StockReservation reservation = lockReservation(reservationId);
+        switch (reservation.getStatus()) {
+            case RELEASED:
+            case EXPIRED:
+                return mapToResponse(reservation);
+            case COMMITTED:
+                throw new InvalidReservationStateException(reservationId, reservation.getStatus().name(), "release");
+            default:
+                break;
+        }
+        // Load the items before the bulk updates detach the reservation
+        Map<Long, Integer> quantities = reservation.getItems().stream()
+                .collect(Collectors.toMap(StockReservationItem::getProductId, StockReservationItem::getQuantity));
+        LocalDateTime now = LocalDateTime.now();
+        // The status is changed with a conditional UPDATE rather than on the entity, so it is
+        // written before anything is restocked and only the call that moved it off RESERVED restocks
+        if (stockReservationRepository.markReleased(reservationId, now, ReservationStatus.RESERVED,
+                ReservationStatus.RELEASED) == 0) {
+            return getReservation(reservationId);
+        }
+        reservation.setStatus(ReservationStatus.RELEASED);
+        reservation.setUpdatedAt(now);
+        // Stock was never taken; dropping the holds returns it to sale
+        inventoryHoldRepository.deleteByReservationIds(List.of(reservationId));
+        HotStockService hotStock = hotStockService.getIfAvailable();
+        if (hotStock != null) {
+            hotStock.restoreAfterCommit(quantities);
+        }
+        logger.info("Released reservation {}", reservationId);
+        return mapToResponse(reservation);
+    }
+
+    private StockReservation lockReservation(String reservationId) {
+        return stockReservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new NotFoundException("Reservation not found"));
+    }
+
+    private StockReservationResponse mapToResponse(StockReservation reservation) {
+        List<StockReservationItemDTO> items = reservation.getItems().stream()
+                .map(item -> new StockReservationItemDTO(item.getProductId(), item.getQuantity()))
+                .collect(Collectors.toList());
+
+        StockReservationResponse response = new StockReservationResponse();
+        response.setReservationId(reservation.getId());
+        response.setStatus(reservation.getStatus().name());
+        response.setItems(items);
+        response.setCreatedAt(reservation.getCreatedAt());
+        response.setExpiresAt(reservation.getExpiresAt());
+        return response;
+    }
+}
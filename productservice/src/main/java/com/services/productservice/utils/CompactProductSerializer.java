@@ -0,0 +1,259 @@
+package com.services.productservice.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.services.common.dtos.ProductResponse;
+
+/**
+ * Binary codec for the values of the product cache hash. Every payload starts
+ * with a format version byte and a type tag; {@link ProductResponse} is
+ * written as a field presence mask followed by varints, raw doubles and
+ * length-prefixed UTF-8, which is several times smaller than Java
+ * serialization and skips its reflection.
+ *
+ * <p>Values of other types fall back to Java serialization behind their own
+ * tag. Payloads that start with the Java serialization magic are entries
+ * written before this codec and are still read.
+ */
+public class CompactProductSerializer implements RedisSerializer<Object> {
+
+    static final byte VERSION = 1;
+
+    private static final byte TAG_PRODUCT = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_STRING = 4;
+    private static final byte TAG_JDK = 0x7F;
+
+    private static final byte JDK_MAGIC_0 = (byte) 0xAC;
+    private static final byte JDK_MAGIC_1 = (byte) 0xED;
+
+    private final JdkSerializationRedisSerializer jdk = new JdkSerializationRedisSerializer();
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        Writer out = new Writer(64);
+        out.writeByte(VERSION);
+        if (value instanceof ProductResponse product) {
+            out.writeByte(TAG_PRODUCT);
+            writeProduct(out, product);
+        } else if (value instanceof Long number) {
+            out.writeByte(TAG_LONG);
+            out.writeVarLong(number);
+        } else if (value instanceof Boolean flag) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeByte(flag ? (byte) 1 : (byte) 0);
+        } else if (value instanceof String text) {
+            out.writeByte(TAG_STRING);
+            out.writeString(text);
+        } else {
+            out.writeByte(TAG_JDK);
+            out.writeBytes(jdk.serialize(value));
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length > 1 && bytes[0] == JDK_MAGIC_0 && bytes[1] == JDK_MAGIC_1) {
+            return jdk.deserialize(bytes);
+        }
+        if (bytes[0] != VERSION || bytes.length < 2) {
+            throw new SerializationException("Unsupported product cache payload version " + bytes[0]);
+        }
+        Reader in = new Reader(bytes, 2);
+        try {
+            switch (bytes[1]) {
+                case TAG_PRODUCT:
+                    return readProduct(in);
+                case TAG_LONG:
+                    return in.readVarLong();
+                case TAG_BOOLEAN:
+                    return in.readByte() != 0;
+                case TAG_STRING:
+                    return in.readString();
+                case TAG_JDK:
+                    return jdk.deserialize(Arrays.copyOfRange(bytes, 2, bytes.length));
+                default:
+                    throw new SerializationException("Unknown product cache payload type " + bytes[1]);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated product cache payload", e);
+        }
+    }
+
+    private static void writeProduct(Writer out, ProductResponse product) {
+        int mask = (product.getId() != null ? 1 : 0)
+                | (product.getName() != null ? 1 << 1 : 0)
+                | (product.getDescription() != null ? 1 << 2 : 0)
+                | (product.getPrice() != null ? 1 << 3 : 0)
+                | (product.getCategory() != null ? 1 << 4 : 0)
+                | (product.getBrand() != null ? 1 << 5 : 0)
+                | (product.getStockQuantity() != null ? 1 << 6 : 0)
+                | (product.getImageUrl() != null ? 1 << 7 : 0);
+        out.writeByte((byte) mask);
+        if (product.getId() != null) {
+            out.writeVarLong(product.getId());
+        }
+        if (product.getName() != null) {
+            out.writeString(product.getName());
+        }
+        if (product.getDescription() != null) {
+            out.writeString(product.getDescription());
+        }
+        if (product.getPrice() != null) {
+            out.writeLong(Double.doubleToLongBits(product.getPrice()));
+        }
+        if (product.getCategory() != null) {
+            out.writeString(product.getCategory());
+        }
+        if (product.getBrand() != null) {
+            out.writeString(product.getBrand());
+        }
+        if (product.getStockQuantity() != null) {
+            out.writeVarLong(product.getStockQuantity());
+        }
+        if (product.getImageUrl() != null) {
+            out.writeString(product.getImageUrl());
+        }
+    }
+
+    private static ProductResponse readProduct(Reader in) {
+        int mask = in.readByte() & 0xFF;
+        ProductResponse product = new ProductResponse();
+        if ((mask & 1) != 0) {
+            product.setId(in.readVarLong());
+        }
+        if ((mask & 1 << 1) != 0) {
+            product.setName(in.readString());
+        }
+        if ((mask & 1 << 2) != 0) {
+            product.setDescription(in.readString());
+        }
+        if ((mask & 1 << 3) != 0) {
+            product.setPrice(Double.longBitsToDouble(in.readLong()));
+        }
+        if ((mask & 1 << 4) != 0) {
+            product.setCategory(in.readString());
+        }
+        if ((mask & 1 << 5) != 0) {
+            product.setBrand(in.readString());
+        }
+        if ((mask & 1 << 6) != 0) {
+            product.setStockQuantity((int) in.readVarLong());
+        }
+        if ((mask & 1 << 7) != 0) {
+            product.setImageUrl(in.readString());
+        }
+        return product;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        Writer(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void writeByte(byte value) {
+            ensure(1);
+            buffer[size++] = value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        /** Zigzag varint, so small negative numbers stay short too. */
+        void writeVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[size++] = (byte) zigzag;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = buffer[position++];
+                zigzag |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || position + length > buffer.length) {
+                throw new SerializationException("Corrupt string length " + length);
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
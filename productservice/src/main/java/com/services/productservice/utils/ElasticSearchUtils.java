@@ -1,6 +1,9 @@
 package com.services.productservice.utils;
 
 import co.elastic.clients.elasticsearch._types.query_dsl.FuzzyQuery;
+import com.services.productservice.models.CategoryDocument;
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ProductDocument;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import lombok.val;
 
@@ -19,4 +22,22 @@ public class ElasticSearchUtils {
         return  fuzzyQuery.field("name").value(approximateProductName).build();
 
     }
+
+    public static ProductDocument toProductDocument(Product product) {
+        return ProductDocument.builder()
+                .id(product.getId().toString())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .category(product.getCategory() != null
+                        ? CategoryDocument.builder()
+                                .id(product.getCategory().getId())
+                                .name(product.getCategory().getName())
+                                .build()
+                        : null)
+                .brand(product.getBrand())
+                .stockQuantity(product.getStockQuantity())
+                .imageUrl(product.getImageUrl())
+                .build();
+    }
 }
@@ -0,0 +1,98 @@
+package com.services.productservice.utils;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Logs request and response payloads on the product paths as single-line
+ * JSON, for a sample of calls or for requests that carry the debug header.
+ * The header is only honored for callers holding one of the configured
+ * authorities (admins by default), since product reads are public.
+ * Everything else returns after a header lookup, a level check and, with
+ * sampling on, one random draw, so an unlogged call serializes nothing.
+ *
+ * <p>Output goes to the {@code com.services.productservice.payloads} logger.
+ * Sampled payloads are logged at DEBUG, which can be switched on without
+ * raising the level of the service's own loggers; payloads asked for with
+ * the header are logged at INFO, so the header works in a default
+ * deployment.
+ */
+@Component
+public class PayloadLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.services.productservice.payloads");
+
+    private final ObjectWriter writer;
+    private final double sampleRate;
+    private final String debugHeader;
+    private final Set<String> debugHeaderAuthorities;
+
+    public PayloadLogger(ObjectMapper objectMapper,
+            @Value("${product.payload-log.sample-rate:0.0}") double sampleRate,
+            @Value("${product.payload-log.debug-header:X-Debug-Payload}") String debugHeader,
+            @Value("${product.payload-log.debug-header-authorities:ROLE_ADMIN}") Set<String> debugHeaderAuthorities) {
+        // Shares the application's modules and settings, but never indents
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.sampleRate = sampleRate;
+        this.debugHeader = debugHeader;
+        this.debugHeaderAuthorities = debugHeaderAuthorities;
+    }
+
+    public void log(String event, Object id, Object payload) {
+        if (requestedByHeader()) {
+            if (logger.isInfoEnabled()) {
+                logger.info("{} {}: {}", event, id, serialize(event, id, payload));
+            }
+        } else if (logger.isDebugEnabled() && sampled()) {
+            logger.debug("{} {}: {}", event, id, serialize(event, id, payload));
+        }
+    }
+
+    private String serialize(String event, Object id, Object payload) {
+        try {
+            return writer.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize {} payload for {}", event, id, e);
+            return "<unserializable>";
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private boolean requestedByHeader() {
+        if (debugHeader.isEmpty()) {
+            return false;
+        }
+        // Off the request thread (async jobs, the warmer) only sampling applies
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet
+                && "true".equalsIgnoreCase(servlet.getRequest().getHeader(debugHeader))
+                && callerMayRequest();
+    }
+
+    private boolean callerMayRequest() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .anyMatch(debugHeaderAuthorities::contains);
+    }
+}
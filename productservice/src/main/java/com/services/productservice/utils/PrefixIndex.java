@@ -0,0 +1,402 @@
+package com.services.productservice.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Radix trie over normalized phrases that keeps the best ranked ids at every
+ * node, so a lookup is a walk down the prefix and a copy of one short array.
+ * Single-child chains are collapsed into one edge and children are kept in
+ * sorted arrays rather than maps, which keeps the node count close to the
+ * number of distinct phrases.
+ *
+ * <p>Every change re-ranks the nodes on the touched paths from the bottom up.
+ * Not thread safe; callers guard reads and writes.
+ */
+public class PrefixIndex {
+
+    private static final long[] NO_IDS = new long[0];
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int topK;
+    private final int maxPrefixLength;
+    private final Node root = new Node("");
+    private final Map<Long, List<String>> phrasesById = new HashMap<>();
+
+    /**
+     * Phrases are only indexed up to {@code maxPrefixLength} characters, which
+     * bounds the trie depth; longer prefixes match on their first characters.
+     */
+    public PrefixIndex(int topK, int maxPrefixLength) {
+        this.topK = topK;
+        this.maxPrefixLength = maxPrefixLength;
+    }
+
+    /**
+     * Indexes {@code id} under every word-start suffix of each text, so
+     * "apple iphone 15" is found by "app", "iph" and "iphone 1". Replaces
+     * whatever was indexed for the id before.
+     */
+    public void put(long id, Collection<String> texts, long score) {
+        remove(id);
+        for (List<Node> path : insert(id, texts, score)) {
+            rerank(path);
+        }
+    }
+
+    /**
+     * Inserts without ranking, for filling a new index; call
+     * {@link #rankAll()} once all products are in.
+     */
+    public void bulkPut(long id, Collection<String> texts, long score) {
+        insert(id, texts, score);
+    }
+
+    /** Ranks every node in one post-order pass. */
+    public void rankAll() {
+        rankSubtree(root);
+    }
+
+    public void remove(long id) {
+        List<String> phrases = phrasesById.remove(id);
+        if (phrases == null) {
+            return;
+        }
+        for (String phrase : phrases) {
+            List<Node> path = path(phrase, false);
+            if (path == null) {
+                continue;
+            }
+            Node leaf = path.get(path.size() - 1);
+            leaf.terminal.remove(id);
+            if (leaf.terminal.size == 0) {
+                leaf.terminal = null;
+            }
+            rerank(path);
+            prune(path);
+        }
+    }
+
+    /** Returns up to {@code limit} ids whose phrases start with the prefix, best ranked first. */
+    public long[] lookup(String prefix, int limit) {
+        String normalized = truncate(String.join(" ", words(prefix)));
+        if (normalized.isEmpty()) {
+            return NO_IDS;
+        }
+        Node node = root;
+        int pos = 0;
+        while (true) {
+            Node child = node.child(normalized.charAt(pos));
+            if (child == null) {
+                return NO_IDS;
+            }
+            int common = commonPrefix(child.label, normalized, pos);
+            if (pos + common == normalized.length()) {
+                // The prefix may end part way along the edge; everything below still matches
+                return Arrays.copyOf(child.top.ids, Math.min(limit, child.top.size));
+            }
+            if (common < child.label.length()) {
+                return NO_IDS;
+            }
+            node = child;
+            pos += common;
+        }
+    }
+
+    public int size() {
+        return phrasesById.size();
+    }
+
+    /** Lower-cased words with accents stripped and punctuation dropped. */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : SEPARATORS.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private List<List<Node>> insert(long id, Collection<String> texts, long score) {
+        Set<String> phrases = new LinkedHashSet<>();
+        for (String text : texts) {
+            List<String> words = words(text);
+            for (int i = 0; i < words.size(); i++) {
+                phrases.add(truncate(String.join(" ", words.subList(i, words.size()))));
+            }
+        }
+        List<List<Node>> paths = new ArrayList<>();
+        if (phrases.isEmpty()) {
+            return paths;
+        }
+        phrasesById.put(id, new ArrayList<>(phrases));
+        for (String phrase : phrases) {
+            List<Node> path = path(phrase, true);
+            Node leaf = path.get(path.size() - 1);
+            if (leaf.terminal == null) {
+                leaf.terminal = new Ranked();
+            }
+            leaf.terminal.append(id, score);
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    private String truncate(String phrase) {
+        return phrase.length() > maxPrefixLength ? phrase.substring(0, maxPrefixLength) : phrase;
+    }
+
+    /** Nodes from the root to the node for {@code phrase}, splitting edges when creating. */
+    private List<Node> path(String phrase, boolean create) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < phrase.length()) {
+            Node child = node.child(phrase.charAt(pos));
+            if (child == null) {
+                if (!create) {
+                    return null;
+                }
+                child = node.addChild(new Node(phrase.substring(pos)));
+                path.add(child);
+                return path;
+            }
+            int common = commonPrefix(child.label, phrase, pos);
+            if (common < child.label.length()) {
+                if (!create) {
+                    return null;
+                }
+                child = node.split(child, common);
+            }
+            node = child;
+            path.add(node);
+            pos += common;
+        }
+        return path;
+    }
+
+    private static int commonPrefix(String label, String text, int offset) {
+        int max = Math.min(label.length(), text.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == text.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Re-ranks every node on the path, deepest first. */
+    private void rerank(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            rank(path.get(i));
+        }
+    }
+
+    private void rankSubtree(Node node) {
+        for (Node child : node.children) {
+            rankSubtree(child);
+        }
+        rank(node);
+    }
+
+    /** Merges the node's own ids with its children's ranked ids, keeping the best {@code topK}. */
+    private void rank(Node node) {
+        Ranked top = new Ranked();
+        if (node.terminal != null) {
+            top.mergeBest(node.terminal, topK, false);
+        }
+        for (Node child : node.children) {
+            top.mergeBest(child.top, topK, true);
+        }
+        node.top = top;
+    }
+
+    /** Drops nodes left empty by a removal and collapses the chain they leave behind. */
+    private void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            if (node.terminal == null && node.children.length == 0) {
+                path.get(i - 1).removeChild(node.label.charAt(0));
+                continue;
+            }
+            if (node.terminal == null && node.children.length == 1) {
+                node.absorbOnlyChild();
+            }
+            return;
+        }
+    }
+
+    /**
+     * Ids with their scores. Node rankings are kept sorted by score descending,
+     * then id ascending; the ids ending at a node are kept in insertion order.
+     */
+    private static final class Ranked {
+        static final Ranked EMPTY = new Ranked();
+
+        long[] ids = NO_IDS;
+        long[] scores = NO_IDS;
+        int size;
+
+        void add(long id, long score) {
+            remove(id);
+            int at = size;
+            while (at > 0 && ranksBefore(id, score, ids[at - 1], scores[at - 1])) {
+                at--;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+                scores = Arrays.copyOf(scores, ids.length);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(scores, at, scores, at + 1, size - at);
+            ids[at] = id;
+            scores[at] = score;
+            size++;
+        }
+
+        void append(long id, long score) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+                scores = Arrays.copyOf(scores, ids.length);
+            }
+            ids[size] = id;
+            scores[size] = score;
+            size++;
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                    System.arraycopy(scores, i + 1, scores, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Adds the entries of another list that make the first {@code limit}; a
+         * sorted list is only read until its entries stop qualifying.
+         */
+        void mergeBest(Ranked other, int limit, boolean sorted) {
+            for (int i = 0; i < other.size; i++) {
+                long id = other.ids[i];
+                long score = other.scores[i];
+                if (size == limit && !ranksBefore(id, score, ids[size - 1], scores[size - 1])) {
+                    if (sorted) {
+                        return;
+                    }
+                    continue;
+                }
+                if (!contains(id)) {
+                    add(id, score);
+                    if (size > limit) {
+                        size = limit;
+                    }
+                }
+            }
+        }
+
+        private boolean contains(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean ranksBefore(long id, long score, long otherId, long otherScore) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+    }
+
+    private static final class Node {
+        private static final char[] NO_FIRSTS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        String label;
+        // First character of each child's label, sorted, parallel to children
+        char[] firsts = NO_FIRSTS;
+        Node[] children = NO_CHILDREN;
+        Ranked terminal;
+        Ranked top = Ranked.EMPTY;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(Node child) {
+            char first = child.label.charAt(0);
+            int insertAt = -(Arrays.binarySearch(firsts, first) + 1);
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newFirsts[insertAt] = first;
+            newChildren[insertAt] = child;
+            System.arraycopy(firsts, insertAt, newFirsts, insertAt + 1, firsts.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            firsts = newFirsts;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            if (index < 0) {
+                return;
+            }
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, firsts.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        /** Cuts the edge to {@code child} after {@code at} characters and returns the new middle node. */
+        Node split(Node child, int at) {
+            Node middle = new Node(child.label.substring(0, at));
+            child.label = child.label.substring(at);
+            middle.firsts = new char[] { child.label.charAt(0) };
+            middle.children = new Node[] { child };
+            middle.top = child.top;
+            children[Arrays.binarySearch(firsts, middle.label.charAt(0))] = middle;
+            return middle;
+        }
+
+        void absorbOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            firsts = child.firsts;
+            children = child.children;
+            terminal = child.terminal;
+            top = child.top;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.services.productservice.utils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Read-only data source for {@code LazyConnectionDataSourceProxy}: hands out
+ * connections from the replicas in turn, skipping any replica whose last lag
+ * check failed or found it more than {@code maxLagSeconds} behind. With no
+ * usable replica it falls back to the primary, so reads never fail over
+ * replication trouble; they only lose the offload.
+ *
+ * <p>Lag is read by {@link #refreshLag()} with the configured query. A result
+ * with a {@code Seconds_Behind_Source} or {@code Seconds_Behind_Master}
+ * column (MySQL's {@code SHOW REPLICA STATUS}) is read from that column,
+ * anything else from its first column; NULL means replication is stopped.
+ * An empty result means the server is not a replica and counts as no lag,
+ * as does a blank query, which only checks the connection. Replicas start
+ * out unusable until their first check passes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> lagSeconds = new ConcurrentHashMap<>();
+    private volatile List<String> usable = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery,
+            long maxLagSeconds) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        // Lookup keys always resolve, so no fallback to the default is needed
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        List<String> candidates = usable;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /** Re-checks every replica's lag and updates which ones take reads. */
+    public void refreshLag() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            Long lag = measureLag(replica.getKey(), replica.getValue());
+            if (lag != null) {
+                lagSeconds.put(replica.getKey(), lag);
+            } else {
+                lagSeconds.remove(replica.getKey());
+            }
+            if (lag != null && lag <= maxLagSeconds) {
+                healthy.add(replica.getKey());
+            }
+        }
+        if (!healthy.equals(usable)) {
+            logger.info("Read replicas taking reads: {} of {}", healthy, replicas.keySet());
+        }
+        usable = List.copyOf(healthy);
+    }
+
+    public List<String> getReplicaNames() {
+        return new ArrayList<>(replicas.keySet());
+    }
+
+    public List<String> getUsableReplicas() {
+        return usable;
+    }
+
+    /** Lag of the replica at its last check, or -1 when the check failed or replication is stopped. */
+    public long getLagSeconds(String replica) {
+        return lagSeconds.getOrDefault(replica, -1L);
+    }
+
+    /** Closes the replica pools; the primary belongs to whoever passed it in. */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Long measureLag(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return connection.isValid(2) ? 0L : null;
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery(lagQuery)) {
+                if (!result.next()) {
+                    return 0L;
+                }
+                long lag = result.getLong(lagColumn(result));
+                return result.wasNull() ? null : lag;
+            }
+        } catch (SQLException e) {
+            logger.warn("Lag check failed for read replica {}", name, e);
+            return null;
+        }
+    }
+
+    private static int lagColumn(ResultSet result) throws SQLException {
+        for (String column : List.of("Seconds_Behind_Source", "Seconds_Behind_Master")) {
+            try {
+                return result.findColumn(column);
+            } catch (SQLException e) {
+                // Not this server version's column name
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,17 @@
+CREATE TABLE `stock_reservations` (
+  `id` varchar(36) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `created_at` datetime(6) NOT NULL,
+  `updated_at` datetime(6) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `stock_reservation_items` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `reservation_id` varchar(36) NOT NULL,
+  `product_id` bigint NOT NULL,
+  `quantity` int NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_stock_reservation_items_reservation` (`reservation_id`),
+  CONSTRAINT `fk_stock_reservation_items_reservation` FOREIGN KEY (`reservation_id`) REFERENCES `stock_reservations` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
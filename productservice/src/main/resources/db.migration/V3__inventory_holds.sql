@@ -0,0 +1,36 @@
+ALTER TABLE `stock_reservations`
+  ADD COLUMN `expires_at` datetime(6) NULL;
+
+UPDATE `stock_reservations` SET `expires_at` = DATE_ADD(NOW(6), INTERVAL 30 MINUTE) WHERE `expires_at` IS NULL;
+
+ALTER TABLE `stock_reservations`
+  MODIFY COLUMN `expires_at` datetime(6) NOT NULL;
+
+CREATE TABLE `inventory_holds` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `reservation_id` varchar(36) NOT NULL,
+  `product_id` bigint NOT NULL,
+  `quantity` int NOT NULL,
+  `expires_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_inventory_holds_expires_at` (`expires_at`),
+  KEY `idx_inventory_holds_product_expires` (`product_id`, `expires_at`),
+  KEY `idx_inventory_holds_reservation` (`reservation_id`),
+  CONSTRAINT `fk_inventory_holds_reservation` FOREIGN KEY (`reservation_id`) REFERENCES `stock_reservations` (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Open reservations made under the old model already took their stock.
+-- Give it back and turn them into holds so a later commit does not take it twice.
+UPDATE `products` p
+  JOIN (SELECT i.`product_id`, SUM(i.`quantity`) AS `held`
+          FROM `stock_reservation_items` i
+          JOIN `stock_reservations` r ON r.`id` = i.`reservation_id`
+         WHERE r.`status` = 'RESERVED'
+         GROUP BY i.`product_id`) x ON x.`product_id` = p.`id`
+   SET p.`stock_quantity` = p.`stock_quantity` + x.`held`;
+
+INSERT INTO `inventory_holds` (`reservation_id`, `product_id`, `quantity`, `expires_at`)
+SELECT i.`reservation_id`, i.`product_id`, i.`quantity`, r.`expires_at`
+  FROM `stock_reservation_items` i
+  JOIN `stock_reservations` r ON r.`id` = i.`reservation_id`
+ WHERE r.`status` = 'RESERVED';
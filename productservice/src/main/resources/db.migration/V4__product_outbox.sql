@@ -0,0 +1,13 @@
+ALTER TABLE `products` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE `product_outbox` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `product_id` bigint NOT NULL,
+  `event_type` varchar(20) NOT NULL,
+  `created_at` datetime(6) NOT NULL,
+  `next_attempt_at` datetime(6) NOT NULL,
+  `attempts` int NOT NULL DEFAULT 0,
+  `last_error` varchar(1000) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_product_outbox_next_attempt` (`next_attempt_at`, `id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
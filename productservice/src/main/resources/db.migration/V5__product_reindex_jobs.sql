@@ -0,0 +1,15 @@
+CREATE TABLE `product_reindex_jobs` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `target_index` varchar(100) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `last_product_id` bigint NOT NULL DEFAULT 0,
+  `indexed_count` bigint NOT NULL DEFAULT 0,
+  `run_start_count` bigint NOT NULL DEFAULT 0,
+  `started_at` datetime(6) NOT NULL,
+  `run_started_at` datetime(6) NOT NULL,
+  `updated_at` datetime(6) DEFAULT NULL,
+  `completed_at` datetime(6) DEFAULT NULL,
+  `error` varchar(1000) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_product_reindex_jobs_status` (`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
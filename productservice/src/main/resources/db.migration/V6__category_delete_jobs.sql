@@ -0,0 +1,14 @@
+CREATE TABLE `category_delete_jobs` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `category_id` bigint NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `total_count` bigint NOT NULL DEFAULT 0,
+  `deleted_count` bigint NOT NULL DEFAULT 0,
+  `last_product_id` bigint NOT NULL DEFAULT 0,
+  `started_at` datetime(6) NOT NULL,
+  `updated_at` datetime(6) DEFAULT NULL,
+  `completed_at` datetime(6) DEFAULT NULL,
+  `error` varchar(1000) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_category_delete_jobs_category_status` (`category_id`, `status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
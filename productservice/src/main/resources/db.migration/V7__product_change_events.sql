@@ -0,0 +1,11 @@
+CREATE TABLE `product_change_outbox` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `product_id` bigint NOT NULL,
+  `changed_fields` varchar(255) NOT NULL,
+  `created_at` datetime(6) NOT NULL,
+  `next_attempt_at` datetime(6) NOT NULL,
+  `attempts` int NOT NULL DEFAULT 0,
+  `last_error` varchar(1000) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  KEY `idx_product_change_outbox_next_attempt` (`next_attempt_at`, `id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,13 @@
+-- Holds the alias while a job is RUNNING and is NULL otherwise. The unique key
+-- lets only one job per alias run, whichever instance starts it.
+ALTER TABLE `product_reindex_jobs`
+  ADD COLUMN `active_alias` varchar(100) DEFAULT NULL,
+  ADD UNIQUE KEY `uk_product_reindex_jobs_active_alias` (`active_alias`);
+
+UPDATE `product_reindex_jobs` j
+  JOIN (SELECT MAX(`id`) AS `id` FROM `product_reindex_jobs` WHERE `status` = 'RUNNING') latest ON j.`id` = latest.`id`
+  SET j.`active_alias` = 'products';
+
+UPDATE `product_reindex_jobs`
+  SET `status` = 'FAILED', `error` = 'Superseded by a newer running job'
+  WHERE `status` = 'RUNNING' AND `active_alias` IS NULL;
@@ -0,0 +1,2 @@
+-- Last version of a deleted product, so the search delete can be versioned too
+ALTER TABLE `product_outbox` ADD COLUMN `version` bigint DEFAULT NULL;
@@ -0,0 +1,110 @@
+package com.services.productservice;
+
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.configs.RedisConfig;
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.ProductNearCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads and writes the product cache through the template RedisConfig
+ * builds, against an embedded Redis, so serializer mismatches between the
+ * plain and pipelined paths show up.
+ */
+class CacheServiceRedisTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<Long, Object> redisTemplate;
+
+    private ProductNearCache nearCache;
+    private CacheService cacheService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory, "compact");
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        nearCache = new ProductNearCache(1000, 30, meterRegistry);
+        cacheService = new CacheService(nearCache, meterRegistry, 3600, 30, 1.0);
+    }
+
+    private static ProductResponse product(long id) {
+        return ProductResponse.builder()
+                .id(id)
+                .name("Product " + id)
+                .description("Cached product")
+                .price(10.0 + id)
+                .category("Kitchen")
+                .brand("Brewline")
+                .stockQuantity(5)
+                .imageUrl("https://cdn.example.com/p/" + id + ".jpg")
+                .build();
+    }
+
+    @Test
+    void getProducts_readsBatchFromRedisAfterNearCacheMiss() {
+        cacheService.cacheProducts(redisTemplate, Map.of(1L, product(1), 2L, product(2)), 5);
+        nearCache.invalidateAll();
+
+        Map<Long, ProductResponse> found = cacheService.getProducts(redisTemplate, List.of(1L, 2L, 3L));
+
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(found.get(2L)).usingRecursiveComparison().isEqualTo(product(2));
+    }
+
+    @Test
+    void lookupProduct_readsSingleProductFromRedisAfterNearCacheMiss() {
+        cacheService.cacheProduct(redisTemplate, 7L, product(7), 12);
+        nearCache.invalidateAll();
+
+        CacheService.ProductLookup lookup = cacheService.lookupProduct(redisTemplate, 7L);
+
+        assertThat(lookup.product()).usingRecursiveComparison().isEqualTo(product(7));
+        assertThat(lookup.missing()).isFalse();
+    }
+
+    @Test
+    void lookupProduct_reportsTombstone() {
+        cacheService.cacheMissing(redisTemplate, 9L);
+
+        assertThat(cacheService.lookupProduct(redisTemplate, 9L).missing()).isTrue();
+    }
+}
@@ -0,0 +1,290 @@
+package com.services.productservice;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ErrorCause;
+import co.elastic.clients.elasticsearch.core.DeleteByQueryRequest;
+import co.elastic.clients.elasticsearch.core.DeleteByQueryResponse;
+import co.elastic.clients.elasticsearch.tasks.ElasticsearchTasksClient;
+import co.elastic.clients.elasticsearch.tasks.GetTasksRequest;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.util.ObjectBuilder;
+import com.services.productservice.dtos.CategoryDeleteJobResponse;
+import com.services.productservice.models.Category;
+import com.services.productservice.models.CategoryDeleteJob;
+import com.services.productservice.models.CategoryDeleteStatus;
+import com.services.productservice.models.Product;
+import com.services.productservice.repositories.CategoryDeleteJobRepository;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.CategoryDeleteJobRunner;
+import com.services.productservice.services.CategoryDeleteJobService;
+import com.services.productservice.services.CategoryDeleteJobServiceImpl;
+import com.services.productservice.services.ProductChangeOutbox;
+import com.services.productservice.services.ProductIndexOutbox;
+import com.services.productservice.services.SearchResultCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the category delete job through its states against H2, with the
+ * delete-by-query task stubbed, so a slow index phase can be made to
+ * outlast the stale threshold.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:categorydeletedb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=false",
+        "product.category-delete.task-poll-ms=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ CategoryDeleteJobServiceImpl.class, CategoryDeleteJobRunner.class, CategoryDeleteJobTest.SyncConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryDeleteJobTest {
+
+    @Autowired
+    private CategoryDeleteJobService categoryDeleteJobService;
+
+    @Autowired
+    private CategoryDeleteJobRepository categoryDeleteJobRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @MockBean
+    private ElasticsearchClient elasticsearchClient;
+
+    @MockBean
+    private ProductIndexOutbox productIndexOutbox;
+
+    @MockBean
+    private ProductChangeOutbox productChangeOutbox;
+
+    @MockBean
+    private CacheService cacheService;
+
+    @MockBean
+    private RedisTemplate<Long, Object> redisTemplate;
+
+    @MockBean
+    private SearchResultCache searchResultCache;
+
+    private final ElasticsearchTasksClient tasksClient = mock(ElasticsearchTasksClient.class);
+
+    // Runs the @Async job on the calling thread, so each test sees where it ended up
+    @TestConfiguration
+    static class SyncConfig {
+        @Bean
+        TaskExecutor taskExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        categoryDeleteJobRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        when(elasticsearchClient.tasks()).thenReturn(tasksClient);
+        when(elasticsearchClient.deleteByQuery(
+                ArgumentMatchers.<Function<DeleteByQueryRequest.Builder, ObjectBuilder<DeleteByQueryRequest>>>any()))
+                .thenReturn(DeleteByQueryResponse.of(r -> r.task("node:1")));
+    }
+
+    @Test
+    void deleteAllProducts_runsJobToCompleted() throws IOException {
+        Long categoryId = saveCategoryWithProducts(3);
+        GetTasksResponse running = runningTask();
+        GetTasksResponse finished = finishedTask(3);
+        whenTaskPolled().thenReturn(running).thenReturn(finished);
+
+        CategoryDeleteJobResponse response = categoryDeleteJobService.deleteAllProducts(categoryId);
+
+        CategoryDeleteJob job = categoryDeleteJobRepository.findById(response.getId()).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(CategoryDeleteStatus.COMPLETED);
+        assertThat(job.getDeletedCount()).isEqualTo(3);
+        assertThat(job.getCompletedAt()).isNotNull();
+        assertThat(productRepository.countByCategoryId(categoryId)).isZero();
+        verify(searchResultCache).bumpVersion();
+    }
+
+    @Test
+    void failedIndexTask_failsJob() throws IOException {
+        Long categoryId = saveCategoryWithProducts(2);
+        GetTasksResponse task = mock(GetTasksResponse.class);
+        when(task.completed()).thenReturn(true);
+        when(task.error()).thenReturn(ErrorCause.of(e -> e.type("search_phase_execution_exception")
+                .reason("all shards failed")));
+        whenTaskPolled().thenReturn(task);
+
+        CategoryDeleteJobResponse response = categoryDeleteJobService.deleteAllProducts(categoryId);
+
+        CategoryDeleteJob job = categoryDeleteJobRepository.findById(response.getId()).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(CategoryDeleteStatus.FAILED);
+        assertThat(job.getError()).contains("all shards failed");
+        verify(searchResultCache, never()).bumpVersion();
+    }
+
+    @Test
+    void repeatedRequest_reportsJobInFlight() throws IOException {
+        Long categoryId = saveCategoryWithProducts(1);
+        CategoryDeleteJob running = saveRunningJob(categoryId, LocalDateTime.now());
+
+        CategoryDeleteJobResponse response = categoryDeleteJobService.deleteAllProducts(categoryId);
+
+        assertThat(response.getId()).isEqualTo(running.getId());
+        assertThat(response.getStatus()).isEqualTo("RUNNING");
+        assertThat(categoryDeleteJobRepository.count()).isEqualTo(1);
+        verify(elasticsearchClient, never()).deleteByQuery(
+                ArgumentMatchers.<Function<DeleteByQueryRequest.Builder, ObjectBuilder<DeleteByQueryRequest>>>any());
+    }
+
+    @Test
+    void staleJob_isFailedAndReplaced() throws IOException {
+        Long categoryId = saveCategoryWithProducts(2);
+        CategoryDeleteJob stale = saveRunningJob(categoryId, LocalDateTime.now().minusMinutes(10));
+        GetTasksResponse finished = finishedTask(2);
+        whenTaskPolled().thenReturn(finished);
+
+        CategoryDeleteJobResponse response = categoryDeleteJobService.deleteAllProducts(categoryId);
+
+        assertThat(response.getId()).isNotEqualTo(stale.getId());
+        assertThat(categoryDeleteJobRepository.findById(stale.getId()).orElseThrow().getStatus())
+                .isEqualTo(CategoryDeleteStatus.FAILED);
+        assertThat(categoryDeleteJobRepository.findById(response.getId()).orElseThrow().getStatus())
+                .isEqualTo(CategoryDeleteStatus.COMPLETED);
+    }
+
+    @Test
+    void slowIndexPhase_heartbeatsSoRepeatedRequestIsNotAStart() throws IOException {
+        Long categoryId = saveCategoryWithProducts(2);
+        AtomicInteger polls = new AtomicInteger();
+        AtomicReference<CategoryDeleteJobResponse> duringPhase = new AtomicReference<>();
+        GetTasksResponse running = runningTask();
+        GetTasksResponse finished = finishedTask(2);
+        whenTaskPolled().thenAnswer(invocation -> {
+            if (polls.incrementAndGet() == 1) {
+                // The phase has already run past the stale threshold since the last checkpoint
+                backdateRunningJob(categoryId);
+                return running;
+            }
+            duringPhase.set(categoryDeleteJobService.deleteAllProducts(categoryId));
+            return finished;
+        });
+
+        CategoryDeleteJobResponse response = categoryDeleteJobService.deleteAllProducts(categoryId);
+
+        assertThat(duringPhase.get().getId()).isEqualTo(response.getId());
+        assertThat(categoryDeleteJobRepository.count()).isEqualTo(1);
+        assertThat(categoryDeleteJobRepository.findById(response.getId()).orElseThrow().getStatus())
+                .isEqualTo(CategoryDeleteStatus.COMPLETED);
+    }
+
+    @Test
+    void jobFailedAsStaleDuringIndexPhase_stopsWithoutCompleting() throws IOException {
+        Long categoryId = saveCategoryWithProducts(2);
+        GetTasksResponse running = runningTask();
+        whenTaskPolled().thenAnswer(invocation -> {
+            CategoryDeleteJob job = categoryDeleteJobRepository
+                    .findFirstByCategoryIdAndStatusOrderByIdDesc(categoryId, CategoryDeleteStatus.RUNNING)
+                    .orElseThrow();
+            job.setStatus(CategoryDeleteStatus.FAILED);
+            job.setError("Stopped checkpointing; replaced");
+            categoryDeleteJobRepository.save(job);
+            return running;
+        });
+
+        CategoryDeleteJobResponse response = categoryDeleteJobService.deleteAllProducts(categoryId);
+
+        CategoryDeleteJob job = categoryDeleteJobRepository.findById(response.getId()).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(CategoryDeleteStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("Stopped checkpointing; replaced");
+        verify(productIndexOutbox, never()).enqueueUpserts(anyCollection());
+        verify(searchResultCache, never()).bumpVersion();
+    }
+
+    private OngoingStubbing<GetTasksResponse> whenTaskPolled() throws IOException {
+        return when(tasksClient.get(
+                ArgumentMatchers.<Function<GetTasksRequest.Builder, ObjectBuilder<GetTasksRequest>>>any()));
+    }
+
+    private GetTasksResponse runningTask() {
+        GetTasksResponse task = mock(GetTasksResponse.class);
+        when(task.completed()).thenReturn(false);
+        return task;
+    }
+
+    private GetTasksResponse finishedTask(long deleted) {
+        JsonData result = mock(JsonData.class);
+        when(result.to(DeleteByQueryResponse.class))
+                .thenReturn(DeleteByQueryResponse.of(r -> r.deleted(deleted).failures(List.of())));
+        GetTasksResponse task = mock(GetTasksResponse.class);
+        when(task.completed()).thenReturn(true);
+        when(task.response()).thenReturn(result);
+        return task;
+    }
+
+    private void backdateRunningJob(Long categoryId) {
+        CategoryDeleteJob job = categoryDeleteJobRepository
+                .findFirstByCategoryIdAndStatusOrderByIdDesc(categoryId, CategoryDeleteStatus.RUNNING)
+                .orElseThrow();
+        job.setUpdatedAt(LocalDateTime.now().minusMinutes(10));
+        categoryDeleteJobRepository.save(job);
+    }
+
+    private CategoryDeleteJob saveRunningJob(Long categoryId, LocalDateTime updatedAt) {
+        return categoryDeleteJobRepository.save(CategoryDeleteJob.builder()
+                .categoryId(categoryId)
+                .status(CategoryDeleteStatus.RUNNING)
+                .totalCount(0)
+                .deletedCount(0)
+                .lastProductId(0)
+                .startedAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build());
+    }
+
+    private Long saveCategoryWithProducts(int count) {
+        // Persisted through the products' cascade, in the same saveAll
+        Category category = Category.builder().name("Kitchen").build();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .name("Kettle " + i)
+                    .description("Category delete test product")
+                    .price(10.0)
+                    .brand("BrandX")
+                    .stockQuantity(5)
+                    .category(category)
+                    .build());
+        }
+        return productRepository.saveAll(products).get(0).getCategory().getId();
+    }
+}
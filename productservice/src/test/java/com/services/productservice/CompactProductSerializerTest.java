@@ -0,0 +1,75 @@
+package com.services.productservice;
+
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.utils.CompactProductSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactProductSerializerTest {
+
+    private final CompactProductSerializer serializer = new CompactProductSerializer();
+    private final JdkSerializationRedisSerializer jdk = new JdkSerializationRedisSerializer();
+
+    private static ProductResponse product() {
+        return ProductResponse.builder()
+                .id(184_467L)
+                .name("Café Crème Maker")
+                .description("Brews espresso and lungo")
+                .price(249.5)
+                .category("Kitchen")
+                .brand("Brewline")
+                .stockQuantity(-3)
+                .imageUrl("https://cdn.example.com/p/184467.jpg")
+                .build();
+    }
+
+    @Test
+    void roundTripsEveryProductField() {
+        ProductResponse decoded = (ProductResponse) serializer.deserialize(serializer.serialize(product()));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(product());
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        ProductResponse sparse = ProductResponse.builder().id(7L).name("Bare").build();
+
+        ProductResponse decoded = (ProductResponse) serializer.deserialize(serializer.serialize(sparse));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(sparse);
+    }
+
+    @Test
+    void roundTripsCacheMetadataValues() {
+        assertThat(serializer.deserialize(serializer.serialize(1_760_000_000_000L))).isEqualTo(1_760_000_000_000L);
+        assertThat(serializer.deserialize(serializer.serialize(Boolean.TRUE))).isEqualTo(Boolean.TRUE);
+        assertThat(serializer.deserialize(serializer.serialize(null))).isNull();
+    }
+
+    @Test
+    void readsEntriesWrittenWithJavaSerialization() {
+        ProductResponse decoded = (ProductResponse) serializer.deserialize(jdk.serialize(product()));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(product());
+    }
+
+    @Test
+    void isSeveralTimesSmallerThanJavaSerialization() {
+        int compact = serializer.serialize(product()).length;
+        int java = jdk.serialize(product()).length;
+
+        assertThat(compact * 3).isLessThan(java);
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] payload = serializer.serialize(product());
+        payload[0] = 99;
+
+        assertThatThrownBy(() -> serializer.deserialize(payload)).isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,262 @@
+package com.services.productservice;
+
+import com.services.productservice.dtos.HotStockStatus;
+import com.services.productservice.exceptions.InsufficientStockException;
+import com.services.productservice.models.Product;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.HotStockService;
+import com.services.productservice.services.ProductChangeOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Runs the hot stock scripts against an embedded Redis and the flush against
+ * H2, so a batch lost or applied twice between the two shows up as a stock
+ * mismatch.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hotstockdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=false",
+        "product.hot-stock.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ HotStockService.class, HotStockServiceTest.RedisTestConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotStockServiceTest {
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private RedisTemplate<Long, Object> redisTemplate;
+
+    @MockBean
+    private CacheService cacheService;
+
+    @MockBean
+    private ProductChangeOutbox productChangeOutbox;
+
+    @TestConfiguration
+    static class RedisTestConfig {
+        @Bean
+        StringRedisTemplate stringRedisTemplate() {
+            return new StringRedisTemplate(connectionFactory);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void flushRedis() {
+        stringRedisTemplate.execute(connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void promote_seedsCountFromDatabaseStock() {
+        Long productId = saveProduct(20);
+
+        HotStockStatus status = hotStockService.promote(productId);
+
+        assertThat(status.isHot()).isTrue();
+        assertThat(status.getRedisAvailable()).isEqualTo(20);
+        assertThat(status.isConsistent()).isTrue();
+        assertThat(hotStockService.hotProductIds()).containsExactly(productId);
+    }
+
+    @Test
+    void promote_ofHotSkuAppliesPendingDecrementsBeforeReseeding() {
+        Long productId = saveProduct(20);
+        hotStockService.promote(productId);
+        hotStockService.decrement(productId, 3);
+
+        HotStockStatus status = hotStockService.promote(productId);
+
+        assertThat(stock(productId)).isEqualTo(17);
+        assertThat(status.getRedisAvailable()).isEqualTo(17);
+        assertThat(status.getPendingDecrements()).isZero();
+        assertThat(status.isConsistent()).isTrue();
+    }
+
+    @Test
+    void flush_appliesPendingDecrementsOnce() {
+        Long productId = saveProduct(20);
+        hotStockService.promote(productId);
+        hotStockService.decrement(productId, 2);
+        hotStockService.decrement(productId, 5);
+
+        assertThat(hotStockService.flush()).isEqualTo(1);
+        assertThat(hotStockService.flush()).isZero();
+
+        assertThat(stock(productId)).isEqualTo(13);
+        assertThat(hotStockService.check(productId).isConsistent()).isTrue();
+        assertThat(stringRedisTemplate.opsForZSet().size("hot-stock:in-flight")).isZero();
+    }
+
+    @Test
+    void flush_keepsBatchWhenDatabaseWriteFails() {
+        Long productId = saveProduct(20);
+        hotStockService.promote(productId);
+        hotStockService.decrement(productId, 4);
+        doThrow(new IllegalStateException("outbox down")).when(productChangeOutbox).enqueueStockChanges(anyCollection());
+
+        assertThat(hotStockService.flush()).isZero();
+        assertThat(stock(productId)).isEqualTo(20);
+        // Decrements made while the batch is in flight go to a fresh pending hash
+        hotStockService.decrement(productId, 1);
+
+        reset(productChangeOutbox);
+        hotStockService.flush();
+        hotStockService.flush();
+
+        assertThat(stock(productId)).isEqualTo(15);
+        assertThat(hotStockService.check(productId).isConsistent()).isTrue();
+    }
+
+    @Test
+    void flush_replaysBatchLeftByDeadFlusher() {
+        Long productId = saveProduct(20);
+        hotStockService.promote(productId);
+        // A flusher that claimed this batch a minute ago and never finished
+        stringRedisTemplate.opsForHash().putAll("hot-stock:in-flight:dead", Map.of(productId.toString(), "6"));
+        stringRedisTemplate.opsForZSet().add("hot-stock:in-flight", "hot-stock:in-flight:dead",
+                System.currentTimeMillis() - 120_000);
+
+        assertThat(hotStockService.flush()).isEqualTo(1);
+
+        assertThat(stock(productId)).isEqualTo(14);
+        assertThat(stringRedisTemplate.hasKey("hot-stock:in-flight:dead")).isFalse();
+    }
+
+    @Test
+    void flush_leavesBatchClaimedByLiveFlusher() {
+        Long productId = saveProduct(20);
+        stringRedisTemplate.opsForHash().putAll("hot-stock:in-flight:live", Map.of(productId.toString(), "6"));
+        stringRedisTemplate.opsForZSet().add("hot-stock:in-flight", "hot-stock:in-flight:live",
+                System.currentTimeMillis());
+
+        assertThat(hotStockService.flush()).isZero();
+
+        assertThat(stock(productId)).isEqualTo(20);
+        assertThat(stringRedisTemplate.hasKey("hot-stock:in-flight:live")).isTrue();
+    }
+
+    @Test
+    void adjust_movesCountWithStockEdit() {
+        Long productId = saveProduct(20);
+        hotStockService.promote(productId);
+        hotStockService.decrement(productId, 3);
+
+        editStock(productId, 25);
+        assertThat(hotStockService.available(productId)).isEqualTo(22);
+        editStock(productId, 15);
+        assertThat(hotStockService.available(productId)).isEqualTo(12);
+
+        assertThat(hotStockService.check(productId).isConsistent()).isTrue();
+        hotStockService.flush();
+        assertThat(stock(productId)).isEqualTo(12);
+    }
+
+    @Test
+    void adjust_rejectsCutBelowCount() {
+        Long productId = saveProduct(20);
+        hotStockService.promote(productId);
+        hotStockService.decrement(productId, 18);
+
+        assertThatThrownBy(() -> editStock(productId, 0)).isInstanceOf(InsufficientStockException.class);
+
+        assertThat(stock(productId)).isEqualTo(20);
+        assertThat(hotStockService.available(productId)).isEqualTo(2);
+    }
+
+    /** Sets the stock the way a product update does, adjusting the hot count in the same transaction. */
+    private void editStock(Long productId, int stock) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Product product = productRepository.findById(productId).orElseThrow();
+            hotStockService.adjust(productId, stock - product.getStockQuantity());
+            product.setStockQuantity(stock);
+            productRepository.save(product);
+        });
+    }
+
+    private int stock(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStockQuantity();
+    }
+
+    private Long saveProduct(int stock) {
+        Product product = Product.builder()
+                .name("Flash Sale Item")
+                .description("Hot stock test product")
+                .price(10.0)
+                .brand("BrandX")
+                .stockQuantity(stock)
+                .build();
+        return productRepository.save(product).getId();
+    }
+}
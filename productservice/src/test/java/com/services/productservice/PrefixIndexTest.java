@@ -0,0 +1,53 @@
+package com.services.productservice;
+
+import com.services.productservice.utils.PrefixIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    @Test
+    void lookup_matchesWordStartsRankedByScore() {
+        PrefixIndex index = new PrefixIndex(10, 32);
+        index.put(1L, List.of("Apple iPhone 15", "Apple"), 5);
+        index.put(2L, List.of("iPad Pro", "Apple"), 50);
+        index.put(3L, List.of("Galaxy Phone", "Samsung"), 1);
+
+        assertThat(index.lookup("i", 10)).containsExactly(2L, 1L);
+        assertThat(index.lookup("IPHONE 1", 10)).containsExactly(1L);
+        assertThat(index.lookup("apple", 10)).containsExactly(2L, 1L);
+        assertThat(index.lookup("phone", 10)).containsExactly(3L);
+        assertThat(index.lookup("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void put_replacesAndRemoveDropsPreviousPhrases() {
+        PrefixIndex index = new PrefixIndex(10, 32);
+        index.put(1L, List.of("Old Name"), 0);
+        index.put(1L, List.of("New Name"), 0);
+
+        assertThat(index.lookup("old", 10)).isEmpty();
+        assertThat(index.lookup("new", 10)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.lookup("name", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void bulkPut_thenRankAll_matchesIncrementalPuts() {
+        PrefixIndex bulk = new PrefixIndex(2, 32);
+        PrefixIndex incremental = new PrefixIndex(2, 32);
+        for (long id = 1; id <= 5; id++) {
+            bulk.bulkPut(id, List.of("Shoe " + id), id);
+            incremental.put(id, List.of("Shoe " + id), id);
+        }
+        bulk.rankAll();
+
+        assertThat(bulk.lookup("sh", 10)).containsExactly(5L, 4L);
+        assertThat(incremental.lookup("sh", 10)).containsExactly(bulk.lookup("sh", 10));
+    }
+}
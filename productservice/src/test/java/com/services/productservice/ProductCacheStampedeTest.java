@@ -0,0 +1,159 @@
+package com.services.productservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.common.dtos.ProductResponse;
+import com.services.productservice.exceptions.ProductNotFoundException;
+import com.services.productservice.models.Category;
+import com.services.productservice.models.Product;
+import com.services.productservice.repositories.CategoryRepository;
+import com.services.productservice.repositories.InventoryHoldRepository;
+import com.services.productservice.repositories.ProductElasticsearchRepository;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.ProductChangeOutbox;
+import com.services.productservice.services.ProductIndexOutbox;
+import com.services.productservice.services.ProductNearCache;
+import com.services.productservice.services.ProductServiceImpl;
+import com.services.productservice.utils.PayloadLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fires a burst of concurrent lookups at an id missing from the cache and
+ * counts how many reach the database. The cache is an in-memory stand-in
+ * for the Redis tier.
+ */
+@SuppressWarnings("unchecked")
+class ProductCacheStampedeTest {
+
+    private static final int CONCURRENT_MISSES = 1000;
+    private static final long DB_LATENCY_MS = 200;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CacheService cacheService = mock(CacheService.class);
+    private final Map<Long, ProductResponse> cached = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> tombstones = new ConcurrentHashMap<>();
+    private final AtomicInteger dbHits = new AtomicInteger();
+    private ProductServiceImpl productService;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductServiceImpl(productRepository,
+                mock(ProductElasticsearchRepository.class),
+                mock(CategoryRepository.class),
+                mock(InventoryHoldRepository.class),
+                mock(RedisTemplate.class),
+                cacheService,
+                mock(ProductIndexOutbox.class),
+                mock(ProductChangeOutbox.class),
+                mock(ObjectProvider.class),
+                mock(ApplicationEventPublisher.class),
+                mock(ObjectProvider.class),
+                mock(ProductNearCache.class),
+                new ObjectMapper(),
+                new PayloadLogger(new ObjectMapper(), 0, "", Set.of()));
+
+        when(cacheService.lookupProduct(any(), anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(1);
+            return new CacheService.ProductLookup(cached.get(id), tombstones.containsKey(id), false);
+        });
+        doAnswer(invocation -> cached.put(invocation.getArgument(1), invocation.getArgument(2)))
+                .when(cacheService).cacheProduct(any(), anyLong(), any(), anyLong());
+        doAnswer(invocation -> tombstones.put(invocation.getArgument(1), true))
+                .when(cacheService).cacheMissing(any(), anyLong());
+        when(productRepository.findById(anyLong())).thenAnswer(invocation -> {
+            dbHits.incrementAndGet();
+            Thread.sleep(DB_LATENCY_MS);
+            Long id = invocation.getArgument(0);
+            if (id > 100) {
+                return Optional.empty();
+            }
+            Product product = Product.builder().name("Hot Product").category(new Category()).build();
+            product.setId(id);
+            return Optional.of(product);
+        });
+    }
+
+    @Test
+    void burstOfMisses_loadsProductFromDatabaseOnce() throws Exception {
+        AtomicInteger notFound = burst(1L);
+
+        assertThat(notFound.get()).isZero();
+        assertThat(dbHits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void burstOfMissesForUnknownId_hitsDatabaseOnceThenTombstone() throws Exception {
+        AtomicInteger notFound = burst(999L);
+        assertThat(notFound.get()).isEqualTo(CONCURRENT_MISSES);
+        assertThat(dbHits.get()).isEqualTo(1);
+
+        burst(999L);
+        assertThat(dbHits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void missCachedByFinishedFlight_isServedFromCacheWithoutLoading() {
+        // The caller's first lookup missed, but the previous flight cached the product before it joined
+        ProductResponse product = ProductResponse.builder().id(1L).name("Hot Product").build();
+        when(cacheService.lookupProduct(any(), anyLong()))
+                .thenReturn(new CacheService.ProductLookup(null, false, false))
+                .thenReturn(new CacheService.ProductLookup(product, false, false));
+
+        assertThat(productService.getProductById(1L)).isSameAs(product);
+        assertThat(dbHits.get()).isZero();
+    }
+
+    private AtomicInteger burst(Long id) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_MISSES);
+        CountDownLatch ready = new CountDownLatch(CONCURRENT_MISSES);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger notFound = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_MISSES; i++) {
+                futures.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        productService.getProductById(id);
+                    } catch (ProductNotFoundException e) {
+                        notFound.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            ready.await(30, TimeUnit.SECONDS);
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return notFound;
+    }
+}
@@ -4,9 +4,11 @@ import com.services.common.dtos.ProductResponse;
 import com.services.productservice.dtos.ProductRequest;
 import com.services.productservice.models.Category;
 import com.services.productservice.models.Product;
+import com.services.productservice.models.OutboxEventType;
 import com.services.productservice.models.ProductDocument;
 import com.services.productservice.repositories.CategoryRepository;
 import com.services.productservice.repositories.ProductElasticsearchRepository;
+import com.services.productservice.repositories.ProductOutboxRepository;
 import com.services.productservice.repositories.ProductRepository;
 import com.services.productservice.services.CacheService;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.*;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,6 +38,9 @@ class ProductControllerIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private ProductOutboxRepository productOutboxRepository;
+
     @MockBean
     private ProductRepository productRepository;
     @MockBean
@@ -92,6 +98,9 @@ class ProductControllerIntegrationTest {
         assertThat(body.getBrand()).isEqualTo(productRequest.getBrand());
         assertThat(body.getStockQuantity()).isEqualTo(productRequest.getStockQuantity());
         assertThat(body.getImageUrl()).isEqualTo(productRequest.getImageUrl());
+        assertThat(productOutboxRepository.findAll())
+                .anyMatch(event -> event.getProductId().equals(100L)
+                        && event.getEventType() == OutboxEventType.UPSERT);
     }
 
     @Test
@@ -107,7 +116,8 @@ class ProductControllerIntegrationTest {
                 .build();
         product.setId(1L);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(cacheService.isProductCached(any(), anyLong())).thenReturn(false);
+        when(cacheService.lookupProduct(any(), anyLong()))
+                .thenReturn(new CacheService.ProductLookup(null, false, false));
 
         String url = "http://localhost:" + port + "/api/products/1";
         ResponseEntity<ProductResponse> response = restTemplate.getForEntity(url, ProductResponse.class);
@@ -140,7 +150,7 @@ class ProductControllerIntegrationTest {
                 .build();
         product.setId(1L);
         when(categoryRepository.findByName(anyString())).thenReturn(Optional.of(category));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findAllByIdForUpdate(List.of(1L))).thenReturn(List.of(product));
         when(productRepository.save(any(Product.class))).thenReturn(product);
         when(productElasticsearchRepository.findById(anyString())).thenReturn(Optional.empty());
         when(productElasticsearchRepository.save(any(ProductDocument.class))).thenReturn(null);
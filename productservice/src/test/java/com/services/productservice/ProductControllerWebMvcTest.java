@@ -1,7 +1,10 @@
 package com.services.productservice;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.common.dtos.CursorPage;
+import com.services.common.dtos.ProductBatchRequest;
 import com.services.common.dtos.ProductResponse;
+import com.services.productservice.dtos.ProductJson;
 import com.services.productservice.dtos.ProductRequest;
 import com.services.productservice.services.ProductService;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -78,14 +83,73 @@ class ProductControllerWebMvcTest {
                 .stockQuantity(1)
                 .imageUrl("http://img.com/x.jpg")
                 .build();
-        Mockito.when(productService.getProductById(1L)).thenReturn(response);
+        ProductJson json = ProductJson.of(objectMapper.writeValueAsBytes(response));
+        Mockito.when(productService.getProductJsonById(1L)).thenReturn(json);
 
         mockMvc.perform(get("/api/products/1"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", json.etag()))
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.name").value("Minimal Product"));
     }
 
+    @Test
+    void getProductById_returnsNotModifiedForMatchingEtag() throws Exception {
+        ProductResponse response = ProductResponse.builder().id(1L).name("Minimal Product").build();
+        ProductJson json = ProductJson.of(objectMapper.writeValueAsBytes(response));
+        Mockito.when(productService.getProductJsonById(1L)).thenReturn(json);
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "W/\"stale\", " + json.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", json.etag()))
+                .andExpect(content().bytes(new byte[0]));
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getProductsByIds_returnsProductsInRequestOrder() throws Exception {
+        ProductResponse first = ProductResponse.builder().id(2L).name("Second Product").build();
+        ProductResponse second = ProductResponse.builder().id(1L).name("First Product").build();
+        Mockito.when(productService.getProductsByIds(List.of(2L, 1L))).thenReturn(List.of(first, second));
+
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductBatchRequest(List.of(2L, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2L))
+                .andExpect(jsonPath("$[1].name").value("First Product"));
+    }
+
+    @Test
+    void getProductsByIds_rejectsEmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProductsAfter_returnsPageWithNextCursor() throws Exception {
+        ProductResponse product = ProductResponse.builder().id(21L).name("Next Product").build();
+        Mockito.when(productService.getProductsAfter("aWQ6MjA", 1))
+                .thenReturn(new CursorPage<>(List.of(product), "aWQ6MjE", true));
+
+        mockMvc.perform(get("/api/products/cursor").param("after", "aWQ6MjA").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(21L))
+                .andExpect(jsonPath("$.nextCursor").value("aWQ6MjE"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void getProductsAfter_rejectsLimitAboveMaximum() throws Exception {
+        mockMvc.perform(get("/api/products/cursor").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void updateProduct_returnsNoContent() throws Exception {
         ProductRequest request = ProductRequest.builder()
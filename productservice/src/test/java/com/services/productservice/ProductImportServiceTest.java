@@ -0,0 +1,122 @@
+package com.services.productservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.services.productservice.dtos.ProductImportSummary;
+import com.services.productservice.repositories.ProductOutboxRepository;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.services.ProductImportService;
+import com.services.productservice.services.ProductImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importdb;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=false",
+        "product.import.chunk-size=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import(ProductImportServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductOutboxRepository productOutboxRepository;
+
+    @BeforeEach
+    void clean() {
+        productOutboxRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void import_createsEveryValidRowWithAnOutboxRow() throws Exception {
+        List<JsonNode> report = importNdjson(row("Espresso Cup", "Ceramic cup for espresso"),
+                row("Milk Jug", "Steel jug for steaming milk"),
+                row("Tamper", "Flat base coffee tamper"),
+                row("Scale", "Coffee scale with timer"));
+
+        assertThat(report).hasSize(5);
+        assertThat(report.subList(0, 4)).allSatisfy(line -> assertThat(line.get("status").asText()).isEqualTo("CREATED"));
+        ProductImportSummary summary = objectMapper.treeToValue(report.get(4), ProductImportSummary.class);
+        assertThat(summary.getCreated()).isEqualTo(4);
+        assertThat(productRepository.count()).isEqualTo(4);
+        assertThat(productOutboxRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void rowTheDatabaseRejects_failsAloneInItsChunk() throws Exception {
+        // Passes the 1000 character validation but not the 255 character column
+        String longDescription = "A".repeat(400);
+        List<JsonNode> report = importNdjson(row("Espresso Cup", "Ceramic cup for espresso"),
+                row("Milk Jug", longDescription),
+                row("Tamper", "Flat base coffee tamper"));
+
+        assertThat(report.get(0).get("status").asText()).isEqualTo("CREATED");
+        assertThat(report.get(1).get("status").asText()).isEqualTo("FAILED");
+        assertThat(report.get(1).get("error").asText()).isNotBlank();
+        assertThat(report.get(2).get("status").asText()).isEqualTo("CREATED");
+        ProductImportSummary summary = objectMapper.treeToValue(report.get(3), ProductImportSummary.class);
+        assertThat(summary.getCreated()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(productRepository.count()).isEqualTo(2);
+        assertThat(productOutboxRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidRow_isRejectedWithoutTouchingTheOthers() throws Exception {
+        List<JsonNode> report = importNdjson(row("Espresso Cup", "Ceramic cup for espresso"),
+                row("Milk Jug", "short"));
+
+        assertThat(report.get(0).get("status").asText()).isEqualTo("CREATED");
+        assertThat(report.get(1).get("status").asText()).isEqualTo("REJECTED");
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    private String row(String name, String description) throws Exception {
+        return objectMapper.writeValueAsString(objectMapper.createObjectNode()
+                .put("name", name)
+                .put("description", description)
+                .put("price", 12.5)
+                .put("category", "Kitchen")
+                .put("brand", "Brewline")
+                .put("stockQuantity", 10));
+    }
+
+    private List<JsonNode> importNdjson(String... rows) throws Exception {
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        productImportService.importProducts(
+                new ByteArrayInputStream(String.join("\n", rows).getBytes(StandardCharsets.UTF_8)),
+                ProductImportService.Format.NDJSON, report);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : report.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
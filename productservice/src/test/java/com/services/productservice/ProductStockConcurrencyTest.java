@@ -0,0 +1,102 @@
+package com.services.productservice;
+
+import com.services.productservice.models.Product;
+import com.services.productservice.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int ATTEMPTS = 400;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentDecrements_neverOversell() throws Exception {
+        Long productId = saveProduct(INITIAL_STOCK);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    Integer updated = transactionTemplate.execute(
+                            status -> productRepository.decrementStock(productId, 1, LocalDateTime.now()));
+                    if (updated != null && updated == 1) {
+                        succeeded.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(succeeded.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - INITIAL_STOCK);
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isZero();
+    }
+
+    @Test
+    void decrement_rejectsWhenStockIsShort() {
+        Long productId = saveProduct(2);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Integer updated = transactionTemplate.execute(
+                status -> productRepository.decrementStock(productId, 3, LocalDateTime.now()));
+
+        assertThat(updated).isZero();
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isEqualTo(2);
+    }
+
+    private Long saveProduct(int stock) {
+        Product product = Product.builder()
+                .name("Flash Sale Item")
+                .description("Concurrency test product")
+                .price(10.0)
+                .brand("BrandX")
+                .stockQuantity(stock)
+                .build();
+        return productRepository.save(product).getId();
+    }
+}
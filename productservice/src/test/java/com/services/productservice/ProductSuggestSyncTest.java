@@ -0,0 +1,73 @@
+package com.services.productservice;
+
+import com.services.productservice.events.ProductChangedEvent;
+import com.services.productservice.events.ProductsDeletedEvent;
+import com.services.productservice.events.ProductsImportedEvent;
+import com.services.productservice.services.ProductSuggestService;
+import com.services.productservice.services.ProductSuggestSync;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Passes the messages one replica publishes to another replica's listener,
+ * without Redis in between.
+ */
+class ProductSuggestSyncTest {
+
+    private final StringRedisTemplate redisA = mock(StringRedisTemplate.class);
+    private final ProductSuggestService suggestA = mock(ProductSuggestService.class);
+    private final ProductSuggestSync replicaA = new ProductSuggestSync(redisA, suggestA);
+
+    private final ProductSuggestService suggestB = mock(ProductSuggestService.class);
+    private final ProductSuggestSync replicaB = new ProductSuggestSync(mock(StringRedisTemplate.class), suggestB);
+
+    @Test
+    void changedProducts_areRefreshedOnOtherReplicas() {
+        replicaA.onProductChanged(new ProductChangedEvent(7L, false));
+        replicaA.onProductsDeleted(new ProductsDeletedEvent(List.of(8L, 9L)));
+
+        List<String> sent = published(2);
+        sent.forEach(this::deliverToBoth);
+
+        verify(suggestB).refresh(List.of(7L));
+        verify(suggestB).refresh(List.of(8L, 9L));
+        verifyNoInteractions(suggestA);
+    }
+
+    @Test
+    void bulkImport_rebuildsOtherReplicas() {
+        replicaA.onProductsImported(new ProductsImportedEvent(500));
+
+        deliverToBoth(published(1).get(0));
+
+        verify(suggestB).rebuild();
+        verify(suggestB, never()).refresh(anyCollection());
+        verifyNoInteractions(suggestA);
+    }
+
+    private List<String> published(int count) {
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisA, times(count)).convertAndSend(eq(ProductSuggestSync.CHANNEL), message.capture());
+        return message.getAllValues();
+    }
+
+    private void deliverToBoth(String body) {
+        DefaultMessage message = new DefaultMessage(ProductSuggestSync.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+        replicaA.onMessage(message, null);
+        replicaB.onMessage(message, null);
+    }
+}
@@ -0,0 +1,116 @@
+package com.services.productservice;
+
+import com.services.productservice.utils.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes through two in-memory H2 databases standing in for the primary and
+ * a replica. Each holds a row naming itself, and the replica reports its lag
+ * from a table the test controls.
+ */
+class ReadReplicaRoutingTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primaryDataSource = h2("primary");
+        DriverManagerDataSource replicaDataSource = h2("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        primary.execute("CREATE TABLE server (name VARCHAR(20))");
+        primary.update("INSERT INTO server VALUES ('primary')");
+        replica.execute("CREATE TABLE server (name VARCHAR(20))");
+        replica.update("INSERT INTO server VALUES ('replica')");
+        replica.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+
+        routing = new ReplicaRoutingDataSource(primaryDataSource, Map.of("replica-1", replicaDataSource),
+                "SELECT seconds FROM replica_lag", 5);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "sa", "");
+    }
+
+    private String serverName(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    @Test
+    void readOnlyTransaction_readsFromReplica() {
+        routing.refreshLag();
+
+        assertThat(serverName(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransaction_staysOnPrimary() {
+        routing.refreshLag();
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO server VALUES ('written')"));
+
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM server", Integer.class)).isEqualTo(2);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM server", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void noTransaction_usesPrimary() {
+        routing.refreshLag();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM server", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplica_fallsBackToPrimaryUntilCaughtUp() {
+        replica.update("UPDATE replica_lag SET seconds = 30");
+        routing.refreshLag();
+
+        assertThat(serverName(readOnly)).isEqualTo("primary");
+        assertThat(routing.getLagSeconds("replica-1")).isEqualTo(30);
+
+        replica.update("UPDATE replica_lag SET seconds = 1");
+        routing.refreshLag();
+
+        assertThat(serverName(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void stoppedReplication_fallsBackToPrimary() {
+        replica.update("UPDATE replica_lag SET seconds = NULL");
+        routing.refreshLag();
+
+        assertThat(serverName(readOnly)).isEqualTo("primary");
+        assertThat(routing.getUsableReplicas()).isEmpty();
+    }
+
+    @Test
+    void beforeFirstLagCheck_readsFromPrimary() {
+        assertThat(serverName(readOnly)).isEqualTo("primary");
+    }
+}
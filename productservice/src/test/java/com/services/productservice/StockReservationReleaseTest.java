@@ -0,0 +1,168 @@
+package com.services.productservice;
+
+import com.services.common.dtos.StockReservationItemDTO;
+import com.services.common.dtos.StockReservationRequest;
+import com.services.productservice.exceptions.InvalidReservationStateException;
+import com.services.productservice.models.Product;
+import com.services.productservice.models.ReservationStatus;
+import com.services.productservice.repositories.InventoryHoldRepository;
+import com.services.productservice.repositories.ProductRepository;
+import com.services.productservice.repositories.StockReservationRepository;
+import com.services.productservice.services.CacheService;
+import com.services.productservice.services.HotStockService;
+import com.services.productservice.services.ProductChangeOutbox;
+import com.services.productservice.services.StockReservationService;
+import com.services.productservice.services.StockReservationServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reservationdb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(StockReservationServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationReleaseTest {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private InventoryHoldRepository inventoryHoldRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @MockBean
+    private RedisTemplate<Long, Object> redisTemplate;
+
+    @MockBean
+    private CacheService cacheService;
+
+    @MockBean
+    private ProductChangeOutbox productChangeOutbox;
+
+    @MockBean
+    private HotStockService hotStockService;
+
+    @Test
+    void release_persistsReleasedStatusAndDropsHolds() {
+        Long productId = saveProduct(10);
+        String reservationId = reserve(productId, 4);
+
+        assertThat(stockReservationService.release(reservationId).getStatus()).isEqualTo("RELEASED");
+
+        assertThat(stockReservationRepository.findById(reservationId).orElseThrow().getStatus())
+                .isEqualTo(ReservationStatus.RELEASED);
+        assertThat(inventoryHoldRepository.sumActiveHeldQuantities(List.of(productId), LocalDateTime.now()))
+                .isEmpty();
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void repeatedRelease_restocksHotCounterOnce() {
+        Long productId = saveProduct(10);
+        when(hotStockService.hotProductIds(anyCollection())).thenReturn(Set.of(productId));
+        String reservationId = reserve(productId, 4);
+
+        stockReservationService.release(reservationId);
+        assertThat(stockReservationService.release(reservationId).getStatus()).isEqualTo("RELEASED");
+
+        verify(hotStockService, times(1)).restoreAfterCommit(Map.of(productId, 4));
+    }
+
+    @Test
+    void concurrentReleases_restockHotCounterOnce() throws Exception {
+        Long productId = saveProduct(10);
+        when(hotStockService.hotProductIds(anyCollection())).thenReturn(Set.of(productId));
+        String reservationId = reserve(productId, 4);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return stockReservationService.release(reservationId).getStatus();
+                }));
+            }
+            start.countDown();
+            for (Future<String> future : futures) {
+                assertThat(future.get(60, TimeUnit.SECONDS)).isEqualTo("RELEASED");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(hotStockService, times(1)).restoreAfterCommit(Map.of(productId, 4));
+    }
+
+    @Test
+    void release_afterCommitIsRejected() {
+        Long productId = saveProduct(10);
+        String reservationId = reserve(productId, 4);
+        stockReservationService.commit(reservationId);
+
+        assertThatThrownBy(() -> stockReservationService.release(reservationId))
+                .isInstanceOf(InvalidReservationStateException.class);
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isEqualTo(6);
+    }
+
+    @Test
+    void commit_afterReleaseIsRejected() {
+        Long productId = saveProduct(10);
+        String reservationId = reserve(productId, 4);
+        stockReservationService.release(reservationId);
+
+        assertThatThrownBy(() -> stockReservationService.commit(reservationId))
+                .isInstanceOf(InvalidReservationStateException.class);
+        assertThat(productRepository.findById(productId).orElseThrow().getStockQuantity()).isEqualTo(10);
+    }
+
+    private String reserve(Long productId, int quantity) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setItems(List.of(new StockReservationItemDTO(productId, quantity)));
+        return stockReservationService.reserve(request).getReservationId();
+    }
+
+    private Long saveProduct(int stock) {
+        Product product = Product.builder()
+                .name("Reserved Item")
+                .description("Reservation test product")
+                .price(10.0)
+                .brand("BrandX")
+                .stockQuantity(stock)
+                .build();
+        return productRepository.save(product).getId();
+    }
+}